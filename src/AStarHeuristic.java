@@ -0,0 +1,66 @@
+/**
+ * AStarHeuristic.java
+ *
+ * A* 搜索使用的启发函数：估计结点 node 到目标 target 的剩余距离。
+ * 为保证 A* 找到的是最短路径，估计值必须是可采纳的（不超过真实最短距离）。
+ * 若同时满足一致性（h(u) <= w(u,v) + h(v)），每个结点只会被确定一次。
+ */
+
+public interface AStarHeuristic {
+
+    /**
+     * 估计剩余距离
+     * @param node   当前结点下标
+     * @param target 目标结点下标
+     * @return 剩余距离的下界
+     */
+    double estimate(int node, int target);
+
+    /**
+     * 零启发：退化为普通 Dijkstra
+     */
+    static AStarHeuristic zero() {
+        return (node, target) -> 0.0;
+    }
+
+    /**
+     * 欧氏距离启发：scale * |p(node) - p(target)|，坐标取自快照
+     * @param graph 图的快照
+     * @param scale 坐标距离到边权的换算系数；只有当每条边的权重都不小于 scale 乘以其两端点的欧氏距离时才可采纳
+     */
+    static AStarHeuristic euclidean(FrozenGraph graph, double scale) {
+        return (node, target) -> {
+            double dx = graph.getX(node) - graph.getX(target);
+            double dy = graph.getY(node) - graph.getY(target);
+            return scale * Math.sqrt(dx * dx + dy * dy);
+        };
+    }
+
+    /**
+     * 计算使欧氏距离启发可采纳（且一致）的最大换算系数：所有边上 权重 / 端点欧氏距离 的最小值。
+     * 端点重合的边不产生约束；存在负权边时返回 0。
+     * @param graph 图的快照
+     * @return 换算系数，没有任何约束时返回 0
+     */
+    static double maxAdmissibleScale(FrozenGraph graph) {
+        double scale = Double.POSITIVE_INFINITY;
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        for (int u = 0; u < graph.getNodeCount(); u++) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                if (weights[i] < 0) {
+                    return 0.0;
+                }
+                int v = targets[i];
+                double dx = graph.getX(u) - graph.getX(v);
+                double dy = graph.getY(u) - graph.getY(v);
+                double length = Math.sqrt(dx * dx + dy * dy);
+                if (length > 0) {
+                    scale = Math.min(scale, weights[i] / length);
+                }
+            }
+        }
+        return scale == Double.POSITIVE_INFINITY ? 0.0 : scale;
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * AStarSearch.java
+ *
+ * 基于 FrozenGraph（CSR 快照）的 A* 点对点最短路径搜索。
+ * 算法说明：
+ * 1. 以 f(v) = g(v) + h(v, target) 为优先级扩展结点，h 由可插拔的 AStarHeuristic 提供。
+ * 2. 启发函数越接近真实距离，需要确定的结点越少；h 恒为 0 时等价于 Dijkstra。
+ * 3. 若启发函数只满足可采纳性而不满足一致性，已确定的结点在找到更短路径时会被重新打开，结果仍然正确。
+ *
+ * 实例可重复查询（只重置上次触及的结点），但不是线程安全的。要求边权非负。
+ */
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class AStarSearch {
+
+    private final FrozenGraph graph;
+    private final AStarHeuristic heuristic;
+    private final double[] dist;      // g 值：起点到结点的已知最短距离
+    private final double[] estimate;  // 缓存的启发值 h，NaN 表示尚未计算
+    private final int[] parent;
+    private final IndexedMinHeap heap;
+    private final int[] touched;
+    private int touchedCount;
+    private int lastSettledCount;
+
+    /**
+     * 构造方法
+     * @param graph     图的快照
+     * @param heuristic 启发函数
+     */
+    public AStarSearch(FrozenGraph graph, AStarHeuristic heuristic) {
+        int n = graph.getNodeCount();
+        this.graph = graph;
+        this.heuristic = heuristic;
+        this.dist = new double[n];
+        this.estimate = new double[n];
+        this.parent = new int[n];
+        this.heap = new IndexedMinHeap(n);
+        this.touched = new int[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(estimate, Double.NaN);
+        Arrays.fill(parent, -1);
+    }
+
+    /**
+     * 查询 startNodeId 到 endNodeId 的最短路径
+     * @return 若结点不存在或不可达则返回 null
+     */
+    public GraphAlgorithms.ShortestPathResult query(String startNodeId, String endNodeId) {
+        if (startNodeId.equals(endNodeId)) {
+            return new GraphAlgorithms.ShortestPathResult(Collections.singletonList(startNodeId), 0.0);
+        }
+        int source = graph.getIndex(startNodeId);
+        int target = graph.getIndex(endNodeId);
+        if (source < 0 || target < 0) {
+            return null;
+        }
+        double distance = run(source, target);
+        if (distance == Double.POSITIVE_INFINITY) {
+            return null;  // 不可达
+        }
+        List<String> path = GraphAlgorithms.rebuildIndexPath(graph, parent, target);
+        return new GraphAlgorithms.ShortestPathResult(path, distance);
+    }
+
+    /**
+     * 以下标执行一次 A* 搜索
+     * @return 起点到终点的最短距离，不可达为无穷大
+     */
+    public double run(int source, int target) {
+        reset();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+
+        touched[touchedCount++] = source;
+        dist[source] = 0.0;
+        heap.insertOrDecrease(source, h(source, target));
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            lastSettledCount++;
+            if (u == target) {
+                break;
+            }
+            double base = dist[u];
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                double newDist = base + weights[i];
+                if (newDist < dist[v]) {
+                    if (dist[v] == Double.POSITIVE_INFINITY) {
+                        touched[touchedCount++] = v;
+                    }
+                    dist[v] = newDist;
+                    parent[v] = u;
+                    // 已出堆的结点会被重新插入（仅在启发函数不一致时发生）
+                    heap.insertOrDecrease(v, newDist + h(v, target));
+                }
+            }
+        }
+        return dist[target];
+    }
+
+    /**
+     * 最近一次查询中出堆的结点数，用于评估启发函数的效果
+     */
+    public int getLastSettledCount() {
+        return lastSettledCount;
+    }
+
+    private double h(int v, int target) {
+        double value = estimate[v];
+        if (Double.isNaN(value)) {
+            value = heuristic.estimate(v, target);
+            estimate[v] = value;
+        }
+        return value;
+    }
+
+    private void reset() {
+        for (int i = 0; i < touchedCount; i++) {
+            int v = touched[i];
+            dist[v] = Double.POSITIVE_INFINITY;
+            estimate[v] = Double.NaN;
+            parent[v] = -1;
+        }
+        touchedCount = 0;
+        lastSettledCount = 0;
+        heap.clear();
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * AllPairsTable.java
+ *
+ * 全源最短路径结果的紧凑表示。
+ * 主要内容：
+ * 1. dist：按行优先平铺在一维数组中的 n*n 距离表，可选 double 或 float 精度（float 内存减半）。
+ * 2. next：同样平铺的下一跳表，next[i*n+j] 为 i 到 j 最短路径上 i 之后的结点下标，-1 表示不可达。
+ * 3. graph：结点下标与 ID 的对应关系来自生成该表的 FrozenGraph 快照。
+ *
+ * 可通过 toFloydResult() 转换为与 GraphAlgorithms.FloydResult 兼容的二维数组形式。
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AllPairsTable {
+
+    private final FrozenGraph graph;
+    private final int n;
+    private final double[] dist;       // 双精度距离表（单精度模式下为 null）
+    private final float[] distSingle;  // 单精度距离表（双精度模式下为 null）
+    private final int[] next;
+
+    /**
+     * 构造方法：dist 与 distSingle 二者恰有一个非空
+     */
+    AllPairsTable(FrozenGraph graph, double[] dist, float[] distSingle, int[] next) {
+        this.graph = graph;
+        this.n = graph.getNodeCount();
+        this.dist = dist;
+        this.distSingle = distSingle;
+        this.next = next;
+    }
+
+    /**
+     * 获取生成该表的图快照
+     */
+    public FrozenGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * 获取结点数量
+     */
+    public int getNodeCount() {
+        return n;
+    }
+
+    /**
+     * 是否使用 float 存储距离
+     */
+    public boolean isSinglePrecision() {
+        return distSingle != null;
+    }
+
+    /**
+     * 获取下标 i 到 j 的最短距离，不可达为无穷大
+     */
+    public double getDistance(int i, int j) {
+        return dist != null ? dist[i * n + j] : distSingle[i * n + j];
+    }
+
+    /**
+     * 获取下标 i 到 j 最短路径上的下一跳，-1 表示不可达或 i == j
+     */
+    public int getNext(int i, int j) {
+        return next[i * n + j];
+    }
+
+    /**
+     * 重构 startId -> endId 的最短路径
+     * @return 若结点不存在或不可达则返回 null
+     */
+    public GraphAlgorithms.ShortestPathResult rebuildPath(String startId, String endId) {
+        int start = graph.getIndex(startId);
+        int end = graph.getIndex(endId);
+        if (start < 0 || end < 0) {
+            return null;
+        }
+        double distance = getDistance(start, end);
+        if (distance == Double.POSITIVE_INFINITY) {
+            return null; // 不可达
+        }
+
+        // 沿下一跳回溯路径，最多 n 步，防止零权环导致死循环
+        List<String> path = new ArrayList<>();
+        int current = start;
+        while (current != end) {
+            path.add(graph.getId(current));
+            current = next[current * n + end];
+            if (current < 0 || path.size() > n) {
+                return null;
+            }
+        }
+        path.add(graph.getId(end));
+        return new GraphAlgorithms.ShortestPathResult(path, distance);
+    }
+
+    /**
+     * 转换为 FloydResult（二维数组形式），便于沿用 GraphAlgorithms.rebuildFloydPath 等已有接口
+     */
+    public GraphAlgorithms.FloydResult toFloydResult() {
+        GraphAlgorithms.FloydResult fr = new GraphAlgorithms.FloydResult();
+        fr.dist = new double[n][n];
+        fr.next = new int[n][n];
+        fr.nodeOrder = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int row = i * n;
+            for (int j = 0; j < n; j++) {
+                fr.dist[i][j] = getDistance(i, j);
+            }
+            System.arraycopy(next, row, fr.next[i], 0, n);
+            fr.nodeOrder.add(graph.getNode(i));
+        }
+        return fr;
+    }
+}
@@ -0,0 +1,158 @@
+/**
+ * BidirectionalDijkstra.java
+ *
+ * 双向 Dijkstra：适用于点对点最短路径查询。
+ * 算法说明：
+ * 1. 从起点沿正向边、从终点沿反向边（FrozenGraph.reverse()）同时搜索，每次扩展堆顶键较小的一侧。
+ * 2. 任一侧松弛到另一侧已触及的结点时，用 d_f(u) + w + d_b(v) 更新当前最优值 mu。
+ * 3. 当两侧堆顶键之和不小于 mu 时，mu 即为最短距离，搜索停止。
+ * 在路网类拓扑上，两侧搜索半径约为单向搜索的一半，确定的结点数通常少一个数量级。
+ *
+ * 实例可重复查询（只重置上次触及的结点），但不是线程安全的。要求边权非负。
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class BidirectionalDijkstra {
+
+    private final FrozenGraph forward;
+    private final FrozenGraph backward;
+    private final Side forwardSide;
+    private final Side backwardSide;
+    private int lastSettledCount;
+
+    /**
+     * 构造方法
+     * @param graph 图的快照
+     */
+    public BidirectionalDijkstra(FrozenGraph graph) {
+        this.forward = graph;
+        this.backward = graph.reverse();
+        this.forwardSide = new Side(graph.getNodeCount());
+        this.backwardSide = new Side(graph.getNodeCount());
+    }
+
+    /**
+     * 查询 startNodeId 到 endNodeId 的最短路径
+     * @return 若结点不存在或不可达则返回 null
+     */
+    public GraphAlgorithms.ShortestPathResult query(String startNodeId, String endNodeId) {
+        if (startNodeId.equals(endNodeId)) {
+            return new GraphAlgorithms.ShortestPathResult(Collections.singletonList(startNodeId), 0.0);
+        }
+        int source = forward.getIndex(startNodeId);
+        int target = forward.getIndex(endNodeId);
+        if (source < 0 || target < 0) {
+            return null;
+        }
+
+        forwardSide.reset();
+        backwardSide.reset();
+        forwardSide.start(source);
+        backwardSide.start(target);
+        lastSettledCount = 0;
+
+        double best = Double.POSITIVE_INFINITY;  // 当前最优值 mu
+        int meet = -1;
+        while (!forwardSide.heap.isEmpty() && !backwardSide.heap.isEmpty()) {
+            double topForward = forwardSide.heap.peekKey();
+            double topBackward = backwardSide.heap.peekKey();
+            if (topForward + topBackward >= best) {
+                break;
+            }
+            // 扩展堆顶键较小的一侧
+            boolean expandForward = topForward <= topBackward;
+            Side side = expandForward ? forwardSide : backwardSide;
+            Side other = expandForward ? backwardSide : forwardSide;
+            FrozenGraph g = expandForward ? forward : backward;
+            int[] offsets = g.getOffsets();
+            int[] targets = g.getTargets();
+            double[] weights = g.getWeights();
+
+            int u = side.heap.poll();
+            lastSettledCount++;
+            double base = side.dist[u];
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                double newDist = base + weights[i];
+                if (newDist < side.dist[v]) {
+                    side.relax(v, newDist, u);
+                }
+                double total = side.dist[v] + other.dist[v];
+                if (total < best) {
+                    best = total;
+                    meet = v;
+                }
+            }
+        }
+
+        if (meet < 0) {
+            return null;  // 不可达
+        }
+
+        // 拼接路径：起点 -> meet（正向前驱），meet -> 终点（反向前驱即下一跳）
+        List<String> path = new ArrayList<>();
+        for (int v = meet; v >= 0; v = forwardSide.parent[v]) {
+            path.add(forward.getId(v));
+        }
+        Collections.reverse(path);
+        for (int v = backwardSide.parent[meet]; v >= 0; v = backwardSide.parent[v]) {
+            path.add(forward.getId(v));
+        }
+        return new GraphAlgorithms.ShortestPathResult(path, best);
+    }
+
+    /**
+     * 最近一次查询中两侧共确定（出堆）的结点数，用于评估搜索范围
+     */
+    public int getLastSettledCount() {
+        return lastSettledCount;
+    }
+
+    /**
+     * 单侧搜索的状态：距离、前驱、堆以及用于重置的触及列表
+     */
+    private static class Side {
+        final double[] dist;
+        final int[] parent;
+        final IndexedMinHeap heap;
+        final int[] touched;
+        int touchedCount;
+
+        Side(int n) {
+            dist = new double[n];
+            parent = new int[n];
+            heap = new IndexedMinHeap(n);
+            touched = new int[n];
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            Arrays.fill(parent, -1);
+        }
+
+        void start(int v) {
+            touched[touchedCount++] = v;
+            dist[v] = 0.0;
+            heap.insertOrDecrease(v, 0.0);
+        }
+
+        void relax(int v, double newDist, int from) {
+            if (dist[v] == Double.POSITIVE_INFINITY) {
+                touched[touchedCount++] = v;
+            }
+            dist[v] = newDist;
+            parent[v] = from;
+            heap.insertOrDecrease(v, newDist);
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                dist[touched[i]] = Double.POSITIVE_INFINITY;
+                parent[touched[i]] = -1;
+            }
+            touchedCount = 0;
+            heap.clear();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/**
+ * ConnectivityIndex.java
+ *
+ * 增量维护的连通分量索引，作为 GraphListener 挂在图上，用于随时回答“网络是否被分割”。
+ * 连通性按无向方式判断（有向边同样视为连通两端）。
+ * 算法说明：
+ * 1. 以并查集（DisjointSet）保存分量：加结点新建集合，加边合并两端所在集合，均为 O(α(n))。
+ * 2. 删边时从两端交替做 BFS：若两侧相遇，分量未被分割，立即停止；
+ *    若一侧先搜索完毕，说明分量分裂为两部分，且先结束的一侧较小，只需为这一侧的结点分配新的并查集元素。
+ *    较大一侧的结点仍通过原有元素（包括较小一侧遗留的旧元素）找到原代表元，无需改动。
+ * 3. 被弃用的旧元素超过存活结点数时，整体重建一次并查集，保证空间与结点数成正比。
+ *
+ * sameComponent 的均摊代价为 O(α(n))，分量个数直接返回。
+ */
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ConnectivityIndex implements GraphListener {
+
+    private final Graph graph;
+    private DisjointSet sets;
+    private final Map<String, Integer> element = new HashMap<>();  // 结点 ID -> 并查集元素
+    private int componentCount;
+
+    private ConnectivityIndex(Graph graph) {
+        this.graph = graph;
+        rebuild();
+    }
+
+    /**
+     * 为图的当前状态建立连通分量索引，并注册为 graph 的监听者
+     */
+    public static ConnectivityIndex attach(Graph graph) {
+        ConnectivityIndex index = new ConnectivityIndex(graph);
+        graph.addGraphListener(index);
+        return index;
+    }
+
+    /**
+     * 从图上注销，此后不再随图更新
+     */
+    public void detach() {
+        graph.removeGraphListener(this);
+    }
+
+    /**
+     * 两个结点是否连通；任一结点不存在时返回 false
+     */
+    public boolean sameComponent(String a, String b) {
+        Integer ea = element.get(a);
+        Integer eb = element.get(b);
+        return ea != null && eb != null && sets.connected(ea, eb);
+    }
+
+    /**
+     * 当前的连通分量个数（孤立结点各自构成一个分量）
+     */
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    /**
+     * 网络是否被分割为多个分量
+     */
+    public boolean isPartitioned() {
+        return componentCount > 1;
+    }
+
+    @Override
+    public void nodeAdded(Node node) {
+        element.put(node.getId(), sets.add());
+        componentCount++;
+    }
+
+    @Override
+    public void nodeRemoved(Node node) {
+        // 关联边此前已逐条删除，该结点此时单独构成一个分量
+        if (element.remove(node.getId()) != null) {
+            componentCount--;
+        }
+        compactIfNeeded();
+    }
+
+    @Override
+    public void edgeAdded(Edge edge) {
+        Integer a = element.get(edge.getStartNode().getId());
+        Integer b = element.get(edge.getEndNode().getId());
+        if (a != null && b != null && sets.union(a, b)) {
+            componentCount--;
+        }
+    }
+
+    @Override
+    public void edgeRemoved(Edge edge) {
+        String a = edge.getStartNode().getId();
+        String b = edge.getEndNode().getId();
+        if (a.equals(b) || !element.containsKey(a) || !element.containsKey(b)) {
+            return;
+        }
+        List<String> smallerSide = splitSide(a, b);
+        if (smallerSide == null) {
+            return;  // 两端仍然连通
+        }
+        // 分量分裂：为较小一侧分配新的并查集元素并重新合并
+        int root = -1;
+        for (String id : smallerSide) {
+            int fresh = sets.add();
+            element.put(id, fresh);
+            if (root < 0) {
+                root = fresh;
+            } else {
+                sets.union(root, fresh);
+            }
+        }
+        componentCount++;
+        compactIfNeeded();
+    }
+
+    /**
+     * 从 a、b 两端交替逐层扩展 BFS
+     * @return 两侧相遇时返回 null；否则返回先搜索完毕一侧（通常是较小的一侧）的全部结点
+     */
+    private List<String> splitSide(String a, String b) {
+        Side sideA = new Side(a);
+        Side sideB = new Side(b);
+        while (true) {
+            // 优先扩展访问结点较少的一侧；任一侧队列耗尽即说明它已是一个完整的分量
+            Side smaller = sideA.visited.size() <= sideB.visited.size() ? sideA : sideB;
+            Side other = smaller == sideA ? sideB : sideA;
+            if (smaller.queue.isEmpty()) {
+                return smaller.order;
+            }
+            if (smaller.expand(other)) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * 删边检查中一侧的 BFS 状态
+     */
+    private final class Side {
+        private final Set<String> visited = new HashSet<>();
+        private final List<String> order = new ArrayList<>();
+        private final ArrayDeque<String> queue = new ArrayDeque<>();
+
+        Side(String start) {
+            visited.add(start);
+            order.add(start);
+            queue.add(start);
+        }
+
+        /**
+         * 扩展一个结点的全部关联边
+         * @return 若碰到另一侧已访问的结点则返回 true
+         */
+        boolean expand(Side other) {
+            String current = queue.poll();
+            Set<Edge> incident = graph.getIncidentEdges(current);
+            if (incident == null) {
+                return false;
+            }
+            for (Edge e : incident) {
+                String start = e.getStartNode().getId();
+                String neighbor = start.equals(current) ? e.getEndNode().getId() : start;
+                if (other.visited.contains(neighbor)) {
+                    return true;
+                }
+                if (visited.add(neighbor)) {
+                    order.add(neighbor);
+                    queue.add(neighbor);
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 弃用的旧元素过多时整体重建
+     */
+    private void compactIfNeeded() {
+        if (sets.getElementCount() > 2 * element.size() + 64) {
+            rebuild();
+        }
+    }
+
+    private void rebuild() {
+        List<Node> nodes = graph.getNodes();
+        sets = new DisjointSet(nodes.size());
+        element.clear();
+        for (Node node : nodes) {
+            element.put(node.getId(), sets.add());
+        }
+        componentCount = nodes.size();
+        for (Edge edge : graph.getEdges()) {
+            if (sets.union(element.get(edge.getStartNode().getId()), element.get(edge.getEndNode().getId()))) {
+                componentCount--;
+            }
+        }
+    }
+}
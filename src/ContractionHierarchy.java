@@ -0,0 +1,555 @@
+/**
+ * ContractionHierarchy.java
+ *
+ * 收缩层次（Contraction Hierarchies）最短路径索引，适用于拓扑基本不变、查询极其频繁的场景。
+ * 预处理：
+ * 1. 按“边差”（需要新增的捷径数 - 被移除的边数 + 已收缩邻居数）贪心地确定结点收缩顺序，
+ *    优先级采用延迟更新：出堆时重新计算，若已不是最小则放回堆中。
+ * 2. 收缩结点 v 时，对每对 u -> v -> w，若局部见证搜索找不到不经过 v 且不更长的 u -> w 路径，
+ *    就添加一条权重为 w(u,v)+w(v,w)、中间点为 v 的捷径 u -> w。
+ * 3. 收缩完成后，只保留从低层级指向高层级的“上行边”，分别以 CSR 形式存储正向与反向两组。
+ * 查询：
+ * 从起点沿正向上行边、从终点沿反向上行边各做一次 Dijkstra，两侧在层级最高的结点相遇；
+ * 搜索空间通常只有几百个结点。最后递归展开捷径，得到原图中的完整结点路径。
+ *
+ * 索引绑定于构建时的 FrozenGraph 快照，图被修改后需要重新构建。要求边权非负。
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class ContractionHierarchy {
+
+    /** 见证搜索最多确定的结点数，超过后放弃并直接添加捷径（只影响捷径数量，不影响正确性） */
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+
+    /** 估算优先级时见证搜索的结点数上限，取较小值以加快预处理 */
+    private static final int ESTIMATE_SETTLE_LIMIT = 20;
+
+    private final FrozenGraph graph;
+    private final int[] rank;  // 结点的收缩次序，越大层级越高
+
+    // 正向上行边：结点 v 的 v -> w（rank[w] > rank[v]）
+    private final int[] upOffsets;
+    private final int[] upTargets;
+    private final double[] upWeights;
+    private final int[] upMiddles;    // 捷径的中间结点，原始边为 -1
+
+    // 反向上行边：存放在结点 v 处的 u -> v（rank[u] > rank[v]），targets 中记录 u
+    private final int[] downOffsets;
+    private final int[] downTargets;
+    private final double[] downWeights;
+    private final int[] downMiddles;
+
+    private final ThreadLocal<Query> queries = ThreadLocal.withInitial(Query::new);
+
+    private ContractionHierarchy(FrozenGraph graph, int[] rank, ArcList[] up, ArcList[] down) {
+        this.graph = graph;
+        this.rank = rank;
+        int n = graph.getNodeCount();
+
+        this.upOffsets = new int[n + 1];
+        this.downOffsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            upOffsets[v + 1] = upOffsets[v] + up[v].size;
+            downOffsets[v + 1] = downOffsets[v] + down[v].size;
+        }
+        this.upTargets = new int[upOffsets[n]];
+        this.upWeights = new double[upOffsets[n]];
+        this.upMiddles = new int[upOffsets[n]];
+        this.downTargets = new int[downOffsets[n]];
+        this.downWeights = new double[downOffsets[n]];
+        this.downMiddles = new int[downOffsets[n]];
+        for (int v = 0; v < n; v++) {
+            up[v].copyTo(upTargets, upWeights, upMiddles, upOffsets[v]);
+            down[v].copyTo(downTargets, downWeights, downMiddles, downOffsets[v]);
+        }
+    }
+
+    /**
+     * 在图快照上构建收缩层次
+     * @param graph 图的快照
+     * @return 收缩层次索引
+     * @throws IllegalArgumentException 若存在负权边
+     */
+    public static ContractionHierarchy build(FrozenGraph graph) {
+        for (double w : graph.getWeights()) {
+            if (w < 0) {
+                throw new IllegalArgumentException("收缩层次要求边权非负");
+            }
+        }
+        return new Builder(graph).run();
+    }
+
+    /**
+     * 获取索引所对应的图快照，可与 Graph.freeze() 的返回值比较以判断索引是否过期
+     */
+    public FrozenGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * 获取结点在层次中的次序
+     */
+    public int getRank(int index) {
+        return rank[index];
+    }
+
+    /**
+     * 索引中上行边（含捷径）的总数
+     */
+    public int getArcCount() {
+        return upTargets.length + downTargets.length;
+    }
+
+    /**
+     * 查询 startNodeId 到 endNodeId 的最短路径，返回展开后的完整结点路径。
+     * 每个线程使用各自的查询状态，可并发调用。
+     * @return 若结点不存在或不可达则返回 null
+     */
+    public GraphAlgorithms.ShortestPathResult query(String startNodeId, String endNodeId) {
+        return queries.get().query(startNodeId, endNodeId);
+    }
+
+    /**
+     * 在 at 处的上行边中查找指向 target 的边的中间结点
+     */
+    private static int findMiddle(int[] offsets, int[] targets, int[] middles, int at, int target) {
+        for (int i = offsets[at]; i < offsets[at + 1]; i++) {
+            if (targets[i] == target) {
+                return middles[i];
+            }
+        }
+        throw new IllegalStateException("收缩层次中缺少边 " + at + " / " + target);
+    }
+
+    /**
+     * 将边 a -> b（中间结点 middle）展开为原图路径，依次追加 a 之后的各结点 ID
+     */
+    private void unpack(int a, int b, int middle, List<String> path) {
+        // 显式栈：每三个元素表示一条待展开的边 (from, to, middle)
+        int[] stack = new int[48];
+        int top = 0;
+        stack[top++] = a;
+        stack[top++] = b;
+        stack[top++] = middle;
+        while (top > 0) {
+            int mid = stack[--top];
+            int to = stack[--top];
+            int from = stack[--top];
+            if (mid < 0) {
+                path.add(graph.getId(to));
+                continue;
+            }
+            if (top + 6 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            // from -> mid 存放在 mid 的反向上行边中，mid -> to 存放在 mid 的正向上行边中；
+            // 先压入后半段，保证前半段先展开
+            stack[top++] = mid;
+            stack[top++] = to;
+            stack[top++] = findMiddle(upOffsets, upTargets, upMiddles, mid, to);
+            stack[top++] = from;
+            stack[top++] = mid;
+            stack[top++] = findMiddle(downOffsets, downTargets, downMiddles, mid, from);
+        }
+    }
+
+    /**
+     * 单个线程的查询状态：两侧的距离、前驱与所经边的中间结点
+     */
+    private class Query {
+        private final double[] forwardDist;
+        private final double[] backwardDist;
+        private final int[] forwardParent;
+        private final int[] backwardParent;
+        private final int[] forwardMiddle;
+        private final int[] backwardMiddle;
+        private final IndexedMinHeap forwardHeap;
+        private final IndexedMinHeap backwardHeap;
+        private final int[] touched;
+        private int touchedCount;
+
+        Query() {
+            int n = graph.getNodeCount();
+            forwardDist = new double[n];
+            backwardDist = new double[n];
+            forwardParent = new int[n];
+            backwardParent = new int[n];
+            forwardMiddle = new int[n];
+            backwardMiddle = new int[n];
+            forwardHeap = new IndexedMinHeap(n);
+            backwardHeap = new IndexedMinHeap(n);
+            touched = new int[n];
+            Arrays.fill(forwardDist, Double.POSITIVE_INFINITY);
+            Arrays.fill(backwardDist, Double.POSITIVE_INFINITY);
+        }
+
+        GraphAlgorithms.ShortestPathResult query(String startNodeId, String endNodeId) {
+            if (startNodeId.equals(endNodeId)) {
+                return new GraphAlgorithms.ShortestPathResult(Collections.singletonList(startNodeId), 0.0);
+            }
+            int source = graph.getIndex(startNodeId);
+            int target = graph.getIndex(endNodeId);
+            if (source < 0 || target < 0) {
+                return null;
+            }
+
+            reset();
+            touched[touchedCount++] = source;
+            touched[touchedCount++] = target;
+            forwardDist[source] = 0.0;
+            forwardParent[source] = -1;
+            backwardDist[target] = 0.0;
+            backwardParent[target] = -1;
+            forwardHeap.insertOrDecrease(source, 0.0);
+            backwardHeap.insertOrDecrease(target, 0.0);
+
+            double best = Double.POSITIVE_INFINITY;
+            int meet = -1;
+            while (!forwardHeap.isEmpty() || !backwardHeap.isEmpty()) {
+                boolean forward = !forwardHeap.isEmpty()
+                        && (backwardHeap.isEmpty() || forwardHeap.peekKey() <= backwardHeap.peekKey());
+                IndexedMinHeap heap = forward ? forwardHeap : backwardHeap;
+                if (heap.peekKey() >= best) {
+                    heap.clear();  // 该侧已不可能再找到更短的路径
+                    continue;
+                }
+                int u = heap.poll();
+                double total = forwardDist[u] + backwardDist[u];
+                if (total < best) {
+                    best = total;
+                    meet = u;
+                }
+                if (forward) {
+                    relax(u, upOffsets, upTargets, upWeights, upMiddles,
+                            forwardDist, forwardParent, forwardMiddle, forwardHeap);
+                } else {
+                    relax(u, downOffsets, downTargets, downWeights, downMiddles,
+                            backwardDist, backwardParent, backwardMiddle, backwardHeap);
+                }
+            }
+            if (meet < 0) {
+                return null;  // 不可达
+            }
+
+            // 正向部分：从 meet 沿前驱回溯到起点，再按正序展开
+            List<Integer> chain = new ArrayList<>();
+            for (int v = meet; forwardParent[v] >= 0; v = forwardParent[v]) {
+                chain.add(v);
+            }
+            Collections.reverse(chain);
+            List<String> path = new ArrayList<>();
+            path.add(graph.getId(source));
+            for (int v : chain) {
+                unpack(forwardParent[v], v, forwardMiddle[v], path);
+            }
+            // 反向部分：backwardParent 即朝终点方向的下一个结点
+            for (int v = meet; backwardParent[v] >= 0; v = backwardParent[v]) {
+                unpack(v, backwardParent[v], backwardMiddle[v], path);
+            }
+            return new GraphAlgorithms.ShortestPathResult(path, best);
+        }
+
+        private void relax(int u, int[] offsets, int[] targets, double[] weights, int[] middles,
+                           double[] dist, int[] parent, int[] middle, IndexedMinHeap heap) {
+            double base = dist[u];
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                double newDist = base + weights[i];
+                if (newDist < dist[v]) {
+                    if (forwardDist[v] == Double.POSITIVE_INFINITY
+                            && backwardDist[v] == Double.POSITIVE_INFINITY) {
+                        touched[touchedCount++] = v;
+                    }
+                    dist[v] = newDist;
+                    parent[v] = u;
+                    middle[v] = middles[i];
+                    heap.insertOrDecrease(v, newDist);
+                }
+            }
+        }
+
+        private void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                forwardDist[touched[i]] = Double.POSITIVE_INFINITY;
+                backwardDist[touched[i]] = Double.POSITIVE_INFINITY;
+            }
+            touchedCount = 0;
+            forwardHeap.clear();
+            backwardHeap.clear();
+        }
+    }
+
+    /**
+     * 预处理过程：维护可增删的动态邻接表，按优先级逐个收缩结点
+     */
+    private static class Builder {
+        private final FrozenGraph graph;
+        private final int n;
+        private final ArcList[] out;       // 未收缩子图中的出边
+        private final ArcList[] in;        // 未收缩子图中的入边
+        private final ArcList[] up;        // 收缩时记录的正向上行边
+        private final ArcList[] down;      // 收缩时记录的反向上行边
+        private final int[] deletedNeighbors;
+
+        // 见证搜索使用的可复用状态
+        private final double[] witnessDist;
+        private final IndexedMinHeap witnessHeap;
+        private final int[] witnessTouched;
+        private int witnessTouchedCount;
+
+        // 一次收缩中待添加的捷径
+        private int[] shortcutFrom = new int[16];
+        private int[] shortcutTo = new int[16];
+        private double[] shortcutWeight = new double[16];
+        private int shortcutCount;
+
+        Builder(FrozenGraph graph) {
+            this.graph = graph;
+            this.n = graph.getNodeCount();
+            this.out = new ArcList[n];
+            this.in = new ArcList[n];
+            this.up = new ArcList[n];
+            this.down = new ArcList[n];
+            for (int v = 0; v < n; v++) {
+                out[v] = new ArcList();
+                in[v] = new ArcList();
+            }
+            this.deletedNeighbors = new int[n];
+            this.witnessDist = new double[n];
+            this.witnessHeap = new IndexedMinHeap(n);
+            this.witnessTouched = new int[n];
+            Arrays.fill(witnessDist, Double.POSITIVE_INFINITY);
+
+            // 由 CSR 初始化动态邻接表：忽略自环，平行边只保留最小权重
+            int[] offsets = graph.getOffsets();
+            int[] targets = graph.getTargets();
+            double[] weights = graph.getWeights();
+            for (int u = 0; u < n; u++) {
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int v = targets[i];
+                    if (v != u) {
+                        out[u].put(v, weights[i], -1);
+                        in[v].put(u, weights[i], -1);
+                    }
+                }
+            }
+        }
+
+        ContractionHierarchy run() {
+            IndexedMinHeap queue = new IndexedMinHeap(n);
+            for (int v = 0; v < n; v++) {
+                queue.insertOrDecrease(v, priority(v));
+            }
+
+            int[] rank = new int[n];
+            int order = 0;
+            while (!queue.isEmpty()) {
+                int v = queue.poll();
+                // 延迟更新：重新计算优先级，若已不是最小则放回
+                double p = priority(v);
+                if (!queue.isEmpty() && p > queue.peekKey()) {
+                    queue.insertOrDecrease(v, p);
+                    continue;
+                }
+                rank[v] = order++;
+                int[] neighbors = contract(v);
+                for (int x : neighbors) {
+                    deletedNeighbors[x]++;
+                    queue.insertOrUpdate(x, priority(x));
+                }
+            }
+            return new ContractionHierarchy(graph, rank, up, down);
+        }
+
+        /**
+         * 优先级：需要的捷径数 - 被移除的边数 + 已收缩的邻居数
+         */
+        private double priority(int v) {
+            int shortcuts = findShortcuts(v, ESTIMATE_SETTLE_LIMIT);
+            return shortcuts - in[v].size - out[v].size + deletedNeighbors[v];
+        }
+
+        /**
+         * 收缩结点 v：记录其上行边，从动态邻接表中移除 v，并加入所需的捷径
+         * @return v 在收缩前的所有邻居
+         */
+        private int[] contract(int v) {
+            findShortcuts(v, WITNESS_SETTLE_LIMIT);
+
+            up[v] = out[v].copy();
+            down[v] = in[v].copy();
+            int[] neighbors = new int[out[v].size + in[v].size];
+            int count = 0;
+            for (int i = 0; i < out[v].size; i++) {
+                in[out[v].to[i]].remove(v);
+                neighbors[count++] = out[v].to[i];
+            }
+            for (int i = 0; i < in[v].size; i++) {
+                out[in[v].to[i]].remove(v);
+                neighbors[count++] = in[v].to[i];
+            }
+            out[v] = new ArcList();
+            in[v] = new ArcList();
+
+            for (int i = 0; i < shortcutCount; i++) {
+                out[shortcutFrom[i]].put(shortcutTo[i], shortcutWeight[i], v);
+                in[shortcutTo[i]].put(shortcutFrom[i], shortcutWeight[i], v);
+            }
+            return neighbors;
+        }
+
+        /**
+         * 计算收缩 v 时需要的捷径，结果暂存在 shortcutFrom/To/Weight 中
+         * @param settleLimit 每次见证搜索最多确定的结点数
+         * @return 捷径数量
+         */
+        private int findShortcuts(int v, int settleLimit) {
+            shortcutCount = 0;
+            ArcList ins = in[v];
+            ArcList outs = out[v];
+            for (int i = 0; i < ins.size; i++) {
+                int u = ins.to[i];
+                double wu = ins.weight[i];
+                double maxOut = -1;
+                for (int j = 0; j < outs.size; j++) {
+                    if (outs.to[j] != u) {
+                        maxOut = Math.max(maxOut, outs.weight[j]);
+                    }
+                }
+                if (maxOut < 0) {
+                    continue;  // v 除 u 外没有其他出边
+                }
+                witnessSearch(u, v, wu + maxOut, settleLimit);
+                for (int j = 0; j < outs.size; j++) {
+                    int w = outs.to[j];
+                    if (w == u) {
+                        continue;
+                    }
+                    double cost = wu + outs.weight[j];
+                    if (witnessDist[w] > cost) {
+                        addShortcut(u, w, cost);
+                    }
+                }
+            }
+            return shortcutCount;
+        }
+
+        /**
+         * 在未收缩子图中从 u 出发、绕开 v 的局部 Dijkstra，距离超过 limit 或确定结点过多时停止
+         */
+        private void witnessSearch(int u, int v, double limit, int settleLimit) {
+            for (int i = 0; i < witnessTouchedCount; i++) {
+                witnessDist[witnessTouched[i]] = Double.POSITIVE_INFINITY;
+            }
+            witnessTouchedCount = 0;
+            witnessHeap.clear();
+
+            witnessTouched[witnessTouchedCount++] = u;
+            witnessDist[u] = 0.0;
+            witnessHeap.insertOrDecrease(u, 0.0);
+            int settled = 0;
+            while (!witnessHeap.isEmpty() && settled < settleLimit) {
+                if (witnessHeap.peekKey() > limit) {
+                    break;
+                }
+                int x = witnessHeap.poll();
+                settled++;
+                ArcList arcs = out[x];
+                for (int i = 0; i < arcs.size; i++) {
+                    int y = arcs.to[i];
+                    if (y == v) {
+                        continue;
+                    }
+                    double newDist = witnessDist[x] + arcs.weight[i];
+                    if (newDist < witnessDist[y]) {
+                        if (witnessDist[y] == Double.POSITIVE_INFINITY) {
+                            witnessTouched[witnessTouchedCount++] = y;
+                        }
+                        witnessDist[y] = newDist;
+                        witnessHeap.insertOrDecrease(y, newDist);
+                    }
+                }
+            }
+        }
+
+        private void addShortcut(int from, int to, double weight) {
+            if (shortcutCount == shortcutFrom.length) {
+                shortcutFrom = Arrays.copyOf(shortcutFrom, shortcutCount * 2);
+                shortcutTo = Arrays.copyOf(shortcutTo, shortcutCount * 2);
+                shortcutWeight = Arrays.copyOf(shortcutWeight, shortcutCount * 2);
+            }
+            shortcutFrom[shortcutCount] = from;
+            shortcutTo[shortcutCount] = to;
+            shortcutWeight[shortcutCount] = weight;
+            shortcutCount++;
+        }
+    }
+
+    /**
+     * 动态邻接表中一个结点的边列表：(相邻结点, 权重, 中间结点)，同一相邻结点只保留一条最短的边
+     */
+    private static class ArcList {
+        int size;
+        int[] to = new int[4];
+        double[] weight = new double[4];
+        int[] middle = new int[4];
+
+        int indexOf(int v) {
+            for (int i = 0; i < size; i++) {
+                if (to[i] == v) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        void put(int v, double w, int mid) {
+            int i = indexOf(v);
+            if (i >= 0) {
+                if (w < weight[i]) {
+                    weight[i] = w;
+                    middle[i] = mid;
+                }
+                return;
+            }
+            if (size == to.length) {
+                to = Arrays.copyOf(to, size * 2);
+                weight = Arrays.copyOf(weight, size * 2);
+                middle = Arrays.copyOf(middle, size * 2);
+            }
+            to[size] = v;
+            weight[size] = w;
+            middle[size] = mid;
+            size++;
+        }
+
+        void remove(int v) {
+            int i = indexOf(v);
+            if (i >= 0) {
+                size--;
+                to[i] = to[size];
+                weight[i] = weight[size];
+                middle[i] = middle[size];
+            }
+        }
+
+        ArcList copy() {
+            ArcList c = new ArcList();
+            c.size = size;
+            c.to = Arrays.copyOf(to, Math.max(1, size));
+            c.weight = Arrays.copyOf(weight, Math.max(1, size));
+            c.middle = Arrays.copyOf(middle, Math.max(1, size));
+            return c;
+        }
+
+        void copyTo(int[] targets, double[] weights, int[] middles, int offset) {
+            System.arraycopy(to, 0, targets, offset, size);
+            System.arraycopy(weight, 0, weights, offset, size);
+            System.arraycopy(middle, 0, middles, offset, size);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * CriticalElements.java
+ *
+ * 单点故障分析：求图中的桥（删除后使连通分量增加的边）与割点（删除后使连通分量增加的结点）。
+ * 连通性按无向方式判断，有向边同样视为连通两端。
+ * 算法说明：
+ * 1. 在 undirected() 快照上运行 DfsEngine，先序时记录访问序号，low 值初始为自身序号。
+ * 2. 非树边 (v, w) 以 w 的序号更新 low[v]；进入 v 的树边在反方向上也会作为非树边出现，按边下标排除，
+ *    因此两结点间的平行边仍被视为回边，不会被误判为桥。
+ * 3. 后序时将 low[v] 传给父结点 p：若 low[v] > order[p]，树边 (p, v) 是桥；
+ *    若 low[v] >= order[p] 且 p 不是根，p 是割点；根结点在拥有两个以上子树时是割点。
+ * 全程不递归，O(V + E)。自环既不是桥，也不影响割点判断。
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CriticalElements {
+
+    private final FrozenGraph graph;
+    private final boolean[] bridge;        // 按边下标
+    private final boolean[] articulation;  // 按结点下标
+    private final List<Edge> bridges;
+    private final List<String> articulationPoints;
+
+    private CriticalElements(FrozenGraph graph, boolean[] bridge, boolean[] articulation) {
+        this.graph = graph;
+        this.bridge = bridge;
+        this.articulation = articulation;
+        this.bridges = new ArrayList<>();
+        for (int e = 0; e < bridge.length; e++) {
+            if (bridge[e]) {
+                bridges.add(graph.getEdge(e));
+            }
+        }
+        this.articulationPoints = new ArrayList<>();
+        for (int v = 0; v < articulation.length; v++) {
+            if (articulation[v]) {
+                articulationPoints.add(graph.getId(v));
+            }
+        }
+    }
+
+    /**
+     * 以迭代式 low-link DFS 求桥与割点
+     * @param graph 图的快照（边的方向被忽略）
+     */
+    public static CriticalElements compute(FrozenGraph graph) {
+        FrozenGraph view = graph.undirected();
+        DfsEngine engine = new DfsEngine(view);
+        LowLinkVisitor visitor = new LowLinkVisitor(view, engine);
+        engine.runAll(visitor);
+        return new CriticalElements(graph, visitor.bridge, visitor.articulation);
+    }
+
+    /**
+     * low-link 计算的 DFS 回调
+     */
+    private static final class LowLinkVisitor implements DfsVisitor {
+        private final DfsEngine engine;
+        private final int[] edgeIds;
+        private final int[] order;      // 访问序号
+        private final int[] low;
+        private final int[] children;   // 根结点的子树个数
+        private final boolean[] bridge;
+        private final boolean[] articulation;
+        private int counter;
+
+        LowLinkVisitor(FrozenGraph view, DfsEngine engine) {
+            int n = view.getNodeCount();
+            this.engine = engine;
+            this.edgeIds = view.getEdgeIds();
+            this.order = new int[n];
+            this.low = new int[n];
+            this.children = new int[n];
+            this.bridge = new boolean[view.getEdgeCount()];
+            this.articulation = new boolean[n];
+        }
+
+        @Override
+        public void preOrder(int v, int parent) {
+            order[v] = counter;
+            low[v] = counter;
+            counter++;
+        }
+
+        @Override
+        public void nonTreeEdge(int v, int w, int slot) {
+            int treeSlot = engine.getParentSlot(v);
+            if (treeSlot >= 0 && edgeIds[treeSlot] == edgeIds[slot]) {
+                return;  // 进入 v 的树边本身
+            }
+            if (order[w] < low[v]) {
+                low[v] = order[w];
+            }
+        }
+
+        @Override
+        public void postOrder(int v, int parent) {
+            if (parent < 0) {
+                articulation[v] = children[v] > 1;
+                return;
+            }
+            if (low[v] < low[parent]) {
+                low[parent] = low[v];
+            }
+            if (low[v] > order[parent]) {
+                bridge[edgeIds[engine.getParentSlot(v)]] = true;
+            }
+            if (engine.getParentSlot(parent) < 0) {
+                children[parent]++;
+            } else if (low[v] >= order[parent]) {
+                articulation[parent] = true;
+            }
+        }
+    }
+
+    /**
+     * 获取计算所使用的图快照
+     */
+    public FrozenGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * 全部桥，按边在快照中的下标排列
+     */
+    public List<Edge> getBridges() {
+        return bridges;
+    }
+
+    /**
+     * 全部割点的 ID，按结点在快照中的下标排列
+     */
+    public List<String> getArticulationPoints() {
+        return articulationPoints;
+    }
+
+    /**
+     * 下标为 edgeIndex 的边是否是桥
+     */
+    public boolean isBridge(int edgeIndex) {
+        return bridge[edgeIndex];
+    }
+
+    /**
+     * 结点是否是割点；结点不存在时返回 false
+     */
+    public boolean isArticulationPoint(String nodeId) {
+        int v = graph.getIndex(nodeId);
+        return v >= 0 && articulation[v];
+    }
+}
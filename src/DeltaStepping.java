@@ -0,0 +1,247 @@
+/**
+ * DeltaStepping.java
+ *
+ * 基于 FrozenGraph（CSR 快照）的 Δ-stepping 并行单源最短路径（Meyer & Sanders）。
+ * 算法说明：
+ * 1. 结点按暂定距离放入宽度为 Δ 的桶中，按桶号从小到大处理；同一个桶内的结点可以并行松弛。
+ * 2. 权重不超过 Δ 的轻边可能把结点放回当前桶，因此对当前桶反复松弛轻边直到桶为空；
+ *    重边只会把结点放入后面的桶，每个桶结束时统一松弛一次。
+ * 3. 距离以 double 的位模式保存在 AtomicLongArray 中：非负 double 的位模式与数值同序，可直接以 CAS 取最小值。
+ * 4. 每一轮松弛把当前桶切成若干块，在 ForkJoinPool 上并行执行，各块把距离变小的结点记入各自的列表，随后顺序合并入桶。
+ * 5. 距离确定后，沿“紧”边（dist[u] + w == dist[v]）从起点做一次 BFS 推导前驱，前驱与线程调度无关，且零权环不会成环。
+ *
+ * 得到的距离与 Dijkstra 完全一致（均为所有路径上按相同顺序累加的最小值）；等长路径并存时，选出的路径可能不同。
+ * 要求边权非负。
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public final class DeltaStepping {
+
+    /** 每个并行块处理的结点数 */
+    private static final int CHUNK = 256;
+
+    private static final long INFINITY_BITS = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+
+    private DeltaStepping() {
+    }
+
+    /**
+     * 根据权重分布选取 Δ：最大边权除以平均出度。平均出度越大，同一个桶内可并行的结点越多，Δ 可以越小
+     * @param graph 图的快照
+     * @return Δ，图中没有正权边时返回 1
+     */
+    public static double autoDelta(FrozenGraph graph) {
+        double maxWeight = 0.0;
+        for (double w : graph.getWeights()) {
+            maxWeight = Math.max(maxWeight, w);
+        }
+        if (maxWeight <= 0.0) {
+            return 1.0;
+        }
+        double averageDegree = (double) graph.getTargets().length / Math.max(1, graph.getNodeCount());
+        return maxWeight / Math.max(1.0, averageDegree);
+    }
+
+    /**
+     * 以自动选取的 Δ 计算 source 的最短路径树
+     */
+    public static ShortestPathTree run(FrozenGraph graph, int source, ForkJoinPool pool) {
+        return run(graph, source, autoDelta(graph), pool);
+    }
+
+    /**
+     * 计算 source 的最短路径树
+     * @param graph  图的快照
+     * @param source 起点下标
+     * @param delta  桶宽度，必须为正数
+     * @param pool   执行松弛的线程池
+     * @throws IllegalArgumentException 存在负权边或 delta 不是正数
+     */
+    public static ShortestPathTree run(FrozenGraph graph, int source, double delta, ForkJoinPool pool) {
+        if (!(delta > 0.0)) {
+            throw new IllegalArgumentException("Δ 必须为正数：" + delta);
+        }
+        for (double w : graph.getWeights()) {
+            if (w < 0) {
+                throw new IllegalArgumentException("Δ-stepping 要求边权非负");
+            }
+        }
+        int n = graph.getNodeCount();
+        AtomicLongArray dist = new AtomicLongArray(n);
+        for (int v = 0; v < n; v++) {
+            dist.set(v, INFINITY_BITS);
+        }
+        dist.set(source, Double.doubleToRawLongBits(0.0));
+
+        List<IntList> buckets = new ArrayList<>();
+        bucket(buckets, 0).add(source);
+        int[] roundStamp = new int[n];   // 本轮已加入待松弛列表的标记
+        int[] settledStamp = new int[n]; // 本桶已加入重边松弛列表的标记
+        int round = 0;
+
+        for (int i = 0; i < buckets.size(); i++) {
+            IntList current = take(buckets, i, dist, delta, roundStamp, ++round);
+            IntList settled = new IntList();
+            while (current.size > 0) {
+                for (int k = 0; k < current.size; k++) {
+                    int v = current.data[k];
+                    if (settledStamp[v] != i + 1) {
+                        settledStamp[v] = i + 1;
+                        settled.add(v);
+                    }
+                }
+                IntList[] updated = relax(graph, dist, current, delta, true, pool);
+                distribute(updated, buckets, dist, delta);
+                current = take(buckets, i, dist, delta, roundStamp, ++round);
+            }
+            IntList[] updated = relax(graph, dist, settled, delta, false, pool);
+            distribute(updated, buckets, dist, delta);
+        }
+
+        double[] result = new double[n];
+        for (int v = 0; v < n; v++) {
+            result[v] = Double.longBitsToDouble(dist.get(v));
+        }
+        return new ShortestPathTree(graph, source, result, tightParents(graph, source, result));
+    }
+
+    /**
+     * 并行松弛 nodes 中各结点的轻边（light 为 true）或重边，返回每个块中距离变小的结点
+     */
+    private static IntList[] relax(FrozenGraph graph, AtomicLongArray dist, IntList nodes,
+                                   double delta, boolean light, ForkJoinPool pool) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        int size = nodes.size;
+        int chunks = (size + CHUNK - 1) / CHUNK;
+        IntList[] updated = new IntList[chunks];
+        ParallelRange.forEach(pool, 0, chunks, 1, c -> {
+            IntList out = new IntList();
+            int end = Math.min(size, (c + 1) * CHUNK);
+            for (int k = c * CHUNK; k < end; k++) {
+                int u = nodes.data[k];
+                double base = Double.longBitsToDouble(dist.get(u));
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    double w = weights[e];
+                    if ((w <= delta) != light) {
+                        continue;
+                    }
+                    int v = targets[e];
+                    if (lowerTo(dist, v, base + w)) {
+                        out.add(v);
+                    }
+                }
+            }
+            updated[c] = out;
+        });
+        return updated;
+    }
+
+    /**
+     * 以 CAS 将 dist[v] 降为 candidate
+     * @return 若本次调用降低了距离则返回 true
+     */
+    private static boolean lowerTo(AtomicLongArray dist, int v, double candidate) {
+        long bits = Double.doubleToRawLongBits(candidate);
+        long current = dist.get(v);
+        while (bits < current) {
+            if (dist.compareAndSet(v, current, bits)) {
+                return true;
+            }
+            current = dist.get(v);
+        }
+        return false;
+    }
+
+    /**
+     * 将距离变小的结点按其当前距离放入相应的桶（同一结点可能残留在旧桶中，取出时会被过滤）
+     */
+    private static void distribute(IntList[] updated, List<IntList> buckets, AtomicLongArray dist, double delta) {
+        for (IntList list : updated) {
+            for (int k = 0; k < list.size; k++) {
+                int v = list.data[k];
+                bucket(buckets, bucketIndex(dist, v, delta)).add(v);
+            }
+        }
+    }
+
+    /**
+     * 取出第 i 个桶中仍属于该桶的结点并清空该桶，同一结点只保留一次
+     */
+    private static IntList take(List<IntList> buckets, int i, AtomicLongArray dist, double delta,
+                                int[] roundStamp, int round) {
+        IntList source = buckets.get(i);
+        IntList result = new IntList();
+        for (int k = 0; k < source.size; k++) {
+            int v = source.data[k];
+            if (roundStamp[v] != round && bucketIndex(dist, v, delta) == i) {
+                roundStamp[v] = round;
+                result.add(v);
+            }
+        }
+        source.size = 0;
+        return result;
+    }
+
+    private static int bucketIndex(AtomicLongArray dist, int v, double delta) {
+        double d = Double.longBitsToDouble(dist.get(v));
+        return (int) Math.min(Integer.MAX_VALUE - 1, (long) (d / delta));
+    }
+
+    private static IntList bucket(List<IntList> buckets, int index) {
+        while (buckets.size() <= index) {
+            buckets.add(new IntList());
+        }
+        return buckets.get(index);
+    }
+
+    /**
+     * 从起点出发沿紧边做 BFS，为每个可达结点确定前驱
+     */
+    private static int[] tightParents(FrozenGraph graph, int source, double[] dist) {
+        int n = graph.getNodeCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        int[] parent = new int[n];
+        Arrays.fill(parent, -1);
+        boolean[] reached = new boolean[n];
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        reached[source] = true;
+        queue[tail++] = source;
+        while (head < tail) {
+            int u = queue[head++];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                if (!reached[v] && dist[u] + weights[e] == dist[v]) {
+                    reached[v] = true;
+                    parent[v] = u;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return parent;
+    }
+
+    /**
+     * 可增长的 int 列表
+     */
+    private static final class IntList {
+        int[] data = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+    }
+}
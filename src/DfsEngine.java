@@ -0,0 +1,136 @@
+/**
+ * DfsEngine.java
+ *
+ * 基于 FrozenGraph（CSR 快照）的迭代式深度优先搜索引擎。
+ * 主要特点：
+ * 1. 使用显式栈和每个结点的出边游标代替递归，链状图再深也不会栈溢出。
+ * 2. 访问顺序与递归 DFS 完全一致：按出边在 CSR 中的顺序依次深入。
+ * 3. 所有工作数组在构造时一次性分配，搜索过程中不再分配对象。
+ * 4. 通过 DfsVisitor 回调暴露先序、后序与非树边事件，供强连通分量、桥与割点、拓扑排序等算法复用。
+ *
+ * 引擎实例不是线程安全的。
+ */
+
+import java.util.Arrays;
+
+public class DfsEngine {
+
+    private final FrozenGraph graph;
+    private final int[] stack;
+    private final int[] cursor;      // 每个结点下一条待检查出边的槽位
+    private final int[] parentSlot;  // 进入结点所经过的树边槽位，根结点与未访问结点为 -1
+    private final boolean[] visited;
+    private int visitedCount;
+
+    /**
+     * 构造方法
+     * @param graph 图的快照
+     */
+    public DfsEngine(FrozenGraph graph) {
+        int n = graph.getNodeCount();
+        this.graph = graph;
+        this.stack = new int[n];
+        this.cursor = new int[n];
+        this.parentSlot = new int[n];
+        this.visited = new boolean[n];
+        Arrays.fill(parentSlot, -1);
+    }
+
+    /**
+     * 清除所有访问标记，开始新一轮搜索
+     */
+    public void reset() {
+        Arrays.fill(visited, false);
+        Arrays.fill(parentSlot, -1);
+        visitedCount = 0;
+    }
+
+    /**
+     * 从 root 出发搜索所有尚未访问的可达结点；已访问的结点保持不变，因此可多次调用以覆盖整张图。
+     * @param root    根结点下标
+     * @param visitor 回调
+     * @return 本次新访问的结点数，root 已被访问时返回 0
+     */
+    public int runFrom(int root, DfsVisitor visitor) {
+        if (visited[root]) {
+            return 0;
+        }
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int before = visitedCount;
+        int top = 0;
+
+        visit(root, -1, visitor);
+        stack[top++] = root;
+        while (top > 0) {
+            int current = stack[top - 1];
+            int slot = cursor[current];
+            if (slot == offsets[current + 1]) {
+                top--;  // 出边已全部检查，回溯
+                visitor.postOrder(current, top > 0 ? stack[top - 1] : -1);
+                continue;
+            }
+            cursor[current] = slot + 1;
+            int neighbor = targets[slot];
+            if (!visited[neighbor]) {
+                parentSlot[neighbor] = slot;
+                visit(neighbor, current, visitor);
+                stack[top++] = neighbor;
+            } else {
+                visitor.nonTreeEdge(current, neighbor, slot);
+            }
+        }
+        return visitedCount - before;
+    }
+
+    /**
+     * 按下标顺序以每个尚未访问的结点为根搜索，覆盖整张图（DFS 森林）
+     * @param visitor 回调
+     * @return 森林中树的数量
+     */
+    public int runAll(DfsVisitor visitor) {
+        int trees = 0;
+        for (int v = 0; v < graph.getNodeCount(); v++) {
+            if (!visited[v]) {
+                runFrom(v, visitor);
+                trees++;
+            }
+        }
+        return trees;
+    }
+
+    private void visit(int v, int parent, DfsVisitor visitor) {
+        visited[v] = true;
+        visitedCount++;
+        cursor[v] = graph.getOffsets()[v];
+        visitor.preOrder(v, parent);
+    }
+
+    /**
+     * 结点 v 是否已被访问
+     */
+    public boolean isVisited(int v) {
+        return visited[v];
+    }
+
+    /**
+     * 获取进入结点 v 的树边在 CSR 中的槽位，根结点或未访问结点返回 -1
+     */
+    public int getParentSlot(int v) {
+        return parentSlot[v];
+    }
+
+    /**
+     * 自上次 reset 以来访问过的结点总数
+     */
+    public int getVisitedCount() {
+        return visitedCount;
+    }
+
+    /**
+     * 获取搜索所使用的图快照
+     */
+    public FrozenGraph getGraph() {
+        return graph;
+    }
+}
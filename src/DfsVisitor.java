@@ -0,0 +1,35 @@
+/**
+ * DfsVisitor.java
+ *
+ * DfsEngine 的回调接口。所有方法均有空的默认实现，只需覆盖关心的事件。
+ * 结点以快照下标表示，边以 CSR 槽位（offsets[u] 到 offsets[u+1] 之间的位置）表示，
+ * 可通过 FrozenGraph.getEdgeIds 映射回原始的边。
+ */
+
+public interface DfsVisitor {
+
+    /**
+     * 结点 v 首次被访问（先序）
+     * @param v      结点下标
+     * @param parent DFS 树中的父结点，根结点为 -1
+     */
+    default void preOrder(int v, int parent) {
+    }
+
+    /**
+     * 结点 v 的所有出边都已检查完毕（后序）
+     * @param v      结点下标
+     * @param parent DFS 树中的父结点，根结点为 -1
+     */
+    default void postOrder(int v, int parent) {
+    }
+
+    /**
+     * 检查到一条指向已访问结点的边 (v, w)（回边、前向边或横跨边）
+     * @param v    边的起点
+     * @param w    边的终点
+     * @param slot 边在 CSR 数组中的槽位
+     */
+    default void nonTreeEdge(int v, int w, int slot) {
+    }
+}
@@ -0,0 +1,189 @@
+/**
+ * DijkstraEngine.java
+ *
+ * 基于 FrozenGraph（CSR 快照）的 Dijkstra 单源最短路径引擎。
+ * 主要特点：
+ * 1. 结点使用稠密整数下标，距离保存在 double[] 中，热点路径上没有装箱和字符串查找。
+ * 2. 使用 IndexedMinHeap 做降键，每个结点最多在堆中出现一次。
+ * 3. 引擎实例可重复查询：只重置上一次查询触及的结点，点对点查询的代价与搜索范围成正比。
+ * 4. 可传入结点与边槽位的屏蔽数组，在不复制图的情况下排除部分结点和边（用于 k 条最短路径等算法）。
+ *
+ * 引擎实例不是线程安全的，多线程查询时应为每个线程创建各自的实例。
+ * 要求边权非负：含负权边的快照在构造时即被拒绝，否则已出堆的结点会被再次降键并重复出堆。
+ */
+
+import java.util.Arrays;
+import java.util.List;
+
+public class DijkstraEngine {
+
+    private final FrozenGraph graph;
+    private final double[] dist;   // 距离，未触及的结点为无穷大
+    private final int[] parent;    // 前驱结点下标，-1 表示无前驱
+    private final int[] parentSlot; // 进入结点所经过的边在 CSR 中的槽位，-1 表示无前驱
+    private final IndexedMinHeap heap;
+    private final int[] touched;   // 本次查询中距离被修改过的结点
+    private int touchedCount;
+    private final int[] settled;   // 本次查询中按出堆顺序排列的已确定结点
+    private int settledCount;
+    private int source = -1;
+
+    /**
+     * 构造方法
+     * @param graph 图的快照
+     * @throws IllegalArgumentException 快照中存在负权边
+     */
+    public DijkstraEngine(FrozenGraph graph) {
+        if (graph.hasNegativeWeight()) {
+            throw new IllegalArgumentException("图中存在负权边，无法使用 Dijkstra 算法");
+        }
+        int n = graph.getNodeCount();
+        this.graph = graph;
+        this.dist = new double[n];
+        this.parent = new int[n];
+        this.parentSlot = new int[n];
+        this.heap = new IndexedMinHeap(n);
+        this.touched = new int[n];
+        this.settled = new int[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(parent, -1);
+        Arrays.fill(parentSlot, -1);
+    }
+
+    /**
+     * 从 source 出发执行 Dijkstra。
+     * @param source 起点下标
+     * @param target 终点下标；弹出终点后立即停止。传入 -1 表示计算完整的最短路径树
+     * @return 起点到终点的距离（不可达为无穷大）；target 为 -1 时返回 0
+     */
+    public double run(int source, int target) {
+        return run(source, target, null, null);
+    }
+
+    /**
+     * 在屏蔽部分结点和边的情况下从 source 出发执行 Dijkstra。
+     * @param source       起点下标
+     * @param target       终点下标，-1 表示计算完整的最短路径树
+     * @param removedNodes removedNodes[v] 为 true 的结点不会被进入，可为 null
+     * @param removedSlots removedSlots[i] 为 true 的 CSR 槽位上的边不会被松弛，可为 null
+     * @return 起点到终点的距离（不可达为无穷大）；target 为 -1 时返回 0
+     */
+    public double run(int source, int target, boolean[] removedNodes, boolean[] removedSlots) {
+        reset();
+        this.source = source;
+
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+
+        touch(source);
+        dist[source] = 0.0;
+        heap.insertOrDecrease(source, 0.0);
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            settled[settledCount++] = current;
+            if (current == target) {
+                break;
+            }
+            double base = dist[current];
+            for (int i = offsets[current]; i < offsets[current + 1]; i++) {
+                if (removedSlots != null && removedSlots[i]) {
+                    continue;
+                }
+                int neighbor = targets[i];
+                if (removedNodes != null && removedNodes[neighbor]) {
+                    continue;
+                }
+                double newDist = base + weights[i];
+                if (newDist < dist[neighbor]) {
+                    if (dist[neighbor] == Double.POSITIVE_INFINITY) {
+                        touch(neighbor);
+                    }
+                    dist[neighbor] = newDist;
+                    parent[neighbor] = current;
+                    parentSlot[neighbor] = i;
+                    heap.insertOrDecrease(neighbor, newDist);
+                }
+            }
+        }
+        return target < 0 ? 0.0 : dist[target];
+    }
+
+    /**
+     * 获取最近一次查询中起点到 v 的距离
+     */
+    public double getDistance(int v) {
+        return dist[v];
+    }
+
+    /**
+     * 获取最近一次查询中 v 的前驱下标，-1 表示无前驱
+     */
+    public int getParent(int v) {
+        return parent[v];
+    }
+
+    /**
+     * 获取最近一次查询中进入 v 的边在 CSR 中的槽位，-1 表示无前驱
+     */
+    public int getParentSlot(int v) {
+        return parentSlot[v];
+    }
+
+    /**
+     * 获取最近一次查询中已确定最短距离的结点个数
+     */
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+    /**
+     * 获取最近一次查询中第 i 个出堆的结点。
+     * 按出堆顺序处理时，任一结点的前驱总是先于它出现
+     */
+    public int getSettled(int i) {
+        return settled[i];
+    }
+
+    /**
+     * 获取最近一次查询的起点下标
+     */
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     * 获取引擎所使用的图快照
+     */
+    public FrozenGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * 将最近一次查询中起点到 target 的结果封装为 ShortestPathResult
+     * @return 若不可达返回 null
+     */
+    public GraphAlgorithms.ShortestPathResult toResult(int target) {
+        if (dist[target] == Double.POSITIVE_INFINITY) {
+            return null;
+        }
+        List<String> path = GraphAlgorithms.rebuildIndexPath(graph, parent, target);
+        return new GraphAlgorithms.ShortestPathResult(path, dist[target]);
+    }
+
+    private void touch(int v) {
+        touched[touchedCount++] = v;
+    }
+
+    private void reset() {
+        for (int i = 0; i < touchedCount; i++) {
+            int v = touched[i];
+            dist[v] = Double.POSITIVE_INFINITY;
+            parent[v] = -1;
+            parentSlot[v] = -1;
+        }
+        touchedCount = 0;
+        settledCount = 0;
+        heap.clear();
+    }
+}
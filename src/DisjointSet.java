@@ -0,0 +1,101 @@
+/**
+ * DisjointSet.java
+ *
+ * 并查集（union-find）：元素以从 0 开始连续分配的整数表示，容量按需增长。
+ * 按秩合并并在查找时做路径压缩，单次操作的均摊代价为 O(α(n))。
+ */
+
+import java.util.Arrays;
+
+public class DisjointSet {
+
+    private int[] parent;
+    private byte[] rank;
+    private int size;   // 已分配的元素个数
+    private int sets;   // 当前集合个数
+
+    /**
+     * 构造方法
+     * @param initialCapacity 初始容量
+     */
+    public DisjointSet(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        this.parent = new int[capacity];
+        this.rank = new byte[capacity];
+    }
+
+    /**
+     * 新增一个只包含自身的集合
+     * @return 新元素
+     */
+    public int add() {
+        if (size == parent.length) {
+            parent = Arrays.copyOf(parent, size * 2);
+            rank = Arrays.copyOf(rank, size * 2);
+        }
+        parent[size] = size;
+        rank[size] = 0;
+        sets++;
+        return size++;
+    }
+
+    /**
+     * 查找元素所在集合的代表元，并将查找路径上的元素直接挂到代表元下
+     */
+    public int find(int x) {
+        int root = x;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        while (parent[x] != root) {
+            int next = parent[x];
+            parent[x] = root;
+            x = next;
+        }
+        return root;
+    }
+
+    /**
+     * 合并两个元素所在的集合
+     * @return 若两者原本不在同一集合则返回 true
+     */
+    public boolean union(int a, int b) {
+        int ra = find(a);
+        int rb = find(b);
+        if (ra == rb) {
+            return false;
+        }
+        if (rank[ra] < rank[rb]) {
+            int t = ra;
+            ra = rb;
+            rb = t;
+        }
+        parent[rb] = ra;
+        if (rank[ra] == rank[rb]) {
+            rank[ra]++;
+        }
+        sets--;
+        return true;
+    }
+
+    /**
+     * 两个元素是否在同一集合中
+     */
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    /**
+     * 已分配的元素个数
+     */
+    public int getElementCount() {
+        return size;
+    }
+
+    /**
+     * 当前集合个数
+     */
+    public int getSetCount() {
+        return sets;
+    }
+}
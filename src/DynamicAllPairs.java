@@ -0,0 +1,321 @@
+/**
+ * DynamicAllPairs.java
+ *
+ * 可增量维护的全源最短路径：在一次 Floyd-Warshall 的结果上，随边的增删与权重变化只更新受影响的条目。
+ * 算法说明：
+ * 1. 内部维护 n*n 的有效弧权矩阵（平行边取最小值），每次变化先重新计算该弧的有效权重。
+ * 2. 插入或权重降低（a -> b 变为 w）：对所有 i、j 检查 dist[i][a] + w + dist[b][j] 能否缩短 dist[i][j]，
+ *    代价 O(V²)；next[i][j] 取 i == a ? b : next[i][a]。
+ * 3. 删除或权重升高：只有原最短路径经过弧 a -> b 的结点对会受影响，它们恰好位于 next[a][j] == b 的那些列 j 中。
+ *    对每个受影响的列以 j 为终点在反向图上重新执行 Dijkstra，代价 O(V²) 每列。
+ *
+ * 更新直接写入构造时传入的 FloydResult，之后可继续使用 GraphAlgorithms.rebuildFloydPath 回溯路径。
+ * 可通过 Graph.addGraphListener 注册，随图的修改自动更新。
+ * 要求边权非负。结点增删或出现负权边时无法增量处理：监听回调不抛出异常，只将结构标记为失效，
+ * 下次调用 getResult() 时重新执行 Floyd-Warshall 并写回同一个 FloydResult；失效期间应通过 getResult() 读取结果。
+ */
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class DynamicAllPairs implements GraphListener {
+
+    private final Graph graph;
+    private final GraphAlgorithms.FloydResult result;
+    private double[][] dist;
+    private int[][] next;
+    private double[][] weight;  // 有效弧权：weight[u][v] 为 u -> v 所有平行边中的最小权重，无边为无穷大
+    private final Map<String, Integer> indexOf = new HashMap<>();
+    private int n;
+    private long recomputedColumns;
+    private boolean stale;      // 出现了无法增量处理的修改，需在下次 getResult() 时重建
+
+    /**
+     * 构造方法
+     * @param result 由 graph 的当前状态计算得到的 Floyd-Warshall 结果，之后的更新直接写入其中
+     * @param graph  图，调用各更新方法时其中的边必须已经是变化后的状态
+     * @throws IllegalArgumentException 图中存在负权边
+     */
+    public DynamicAllPairs(GraphAlgorithms.FloydResult result, Graph graph) {
+        Edge negative = findNegativeEdge(graph);
+        if (negative != null) {
+            throw new IllegalArgumentException("动态全源最短路径要求边权非负：" + negative);
+        }
+        this.graph = graph;
+        this.result = result;
+        load();
+    }
+
+    /**
+     * 由 result 与图的当前边建立内部状态
+     */
+    private void load() {
+        dist = result.dist;
+        next = result.next;
+        n = result.nodeOrder.size();
+        indexOf.clear();
+        List<Node> nodeOrder = result.nodeOrder;
+        for (int i = 0; i < n; i++) {
+            indexOf.put(nodeOrder.get(i).getId(), i);
+        }
+        weight = new double[n][n];
+        for (double[] row : weight) {
+            Arrays.fill(row, Double.POSITIVE_INFINITY);
+        }
+        for (Edge edge : graph.getEdges()) {
+            int a = index(edge.getStartNode().getId());
+            int b = index(edge.getEndNode().getId());
+            weight[a][b] = Math.min(weight[a][b], edge.getWeight());
+            if (!edge.isDirected()) {
+                weight[b][a] = Math.min(weight[b][a], edge.getWeight());
+            }
+        }
+    }
+
+    private static Edge findNegativeEdge(Graph graph) {
+        for (Edge edge : graph.getEdges()) {
+            if (edge.getWeight() < 0) {
+                return edge;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取被维护的 FloydResult（与构造时传入的是同一个对象）；结构已失效时先重新计算
+     * @throws IllegalStateException 需要重新计算而图中仍存在负权边
+     */
+    public GraphAlgorithms.FloydResult getResult() {
+        if (stale) {
+            Edge negative = findNegativeEdge(graph);
+            if (negative != null) {
+                throw new IllegalStateException("动态全源最短路径要求边权非负：" + negative);
+            }
+            GraphAlgorithms.FloydResult fresh = GraphAlgorithms.floydWarshall(graph);
+            result.dist = fresh.dist;
+            result.next = fresh.next;
+            result.nodeOrder = fresh.nodeOrder;
+            load();
+            stale = false;
+        }
+        return result;
+    }
+
+    /**
+     * 是否存在尚未处理的、需要整体重建的修改
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * 累计因删除或权重升高而重新计算的列数，用于评估更新代价
+     */
+    public long getRecomputedColumnCount() {
+        return recomputedColumns;
+    }
+
+    /**
+     * 结点已加入图后调用：矩阵规模改变，标记为失效
+     */
+    @Override
+    public void nodeAdded(Node node) {
+        stale = true;
+    }
+
+    /**
+     * 结点已从图中删除后调用：矩阵规模改变，标记为失效
+     */
+    @Override
+    public void nodeRemoved(Node node) {
+        stale = true;
+    }
+
+    /**
+     * 边已加入图后调用
+     */
+    @Override
+    public void edgeAdded(Edge edge) {
+        refresh(edge, null);
+    }
+
+    /**
+     * 边已从图中删除后调用
+     */
+    @Override
+    public void edgeRemoved(Edge edge) {
+        refresh(edge, edge);
+    }
+
+    /**
+     * 边的权重已修改后调用
+     * @param edge      被修改的边
+     * @param oldWeight 修改前的权重（有效弧权由内部维护，此参数仅供与监听接口保持一致）
+     */
+    @Override
+    public void edgeWeightChanged(Edge edge, double oldWeight) {
+        refresh(edge, null);
+    }
+
+    /**
+     * 重新计算边所对应弧（无向边为两个方向）的有效权重，并按变化方向更新距离表
+     * @param excluded 计算有效权重时需要忽略的边（已删除的边），可为 null
+     */
+    private void refresh(Edge edge, Edge excluded) {
+        if (stale) {
+            return;
+        }
+        Integer start = indexOf.get(edge.getStartNode().getId());
+        Integer end = indexOf.get(edge.getEndNode().getId());
+        if ((excluded == null && edge.getWeight() < 0) || start == null || end == null) {
+            stale = true;
+            return;
+        }
+        int a = start;
+        int b = end;
+        updateArc(a, b, excluded);
+        if (!edge.isDirected()) {
+            updateArc(b, a, excluded);
+        }
+    }
+
+    private void updateArc(int a, int b, Edge excluded) {
+        if (a == b) {
+            return;  // 自环不影响最短路径
+        }
+        double oldWeight = weight[a][b];
+        double newWeight = arcWeight(a, b, excluded);
+        weight[a][b] = newWeight;
+        if (newWeight < oldWeight) {
+            decrease(a, b, newWeight);
+        } else if (newWeight > oldWeight) {
+            increase(a, b);
+        }
+    }
+
+    /**
+     * 在图中查找 a -> b 所有平行边（有向边 a->b 或任一方向的无向边）的最小权重
+     */
+    private double arcWeight(int a, int b, Edge excluded) {
+        String startId = result.nodeOrder.get(a).getId();
+        String endId = result.nodeOrder.get(b).getId();
+        double best = Double.POSITIVE_INFINITY;
+        Set<Edge> incident = graph.getIncidentEdges(startId);
+        if (incident == null) {
+            return best;
+        }
+        for (Edge e : incident) {
+            if (e == excluded) {
+                continue;
+            }
+            String s = e.getStartNode().getId();
+            String t = e.getEndNode().getId();
+            boolean matches = (s.equals(startId) && t.equals(endId))
+                    || (!e.isDirected() && s.equals(endId) && t.equals(startId));
+            if (matches && e.getWeight() < best) {
+                best = e.getWeight();
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 弧 a -> b 的权重降为 w：经过该弧的新路径可能缩短任意结点对，O(V²)
+     */
+    private void decrease(int a, int b, double w) {
+        if (w >= dist[a][b]) {
+            return;  // 连 a 到 b 本身都没有缩短，其余结点对更不会
+        }
+        double[] fromB = dist[b];
+        for (int i = 0; i < n; i++) {
+            double ia = dist[i][a];
+            if (ia == Double.POSITIVE_INFINITY) {
+                continue;
+            }
+            double[] rowI = dist[i];
+            int[] nextI = next[i];
+            int firstHop = (i == a) ? b : nextI[a];
+            double base = ia + w;
+            for (int j = 0; j < n; j++) {
+                double candidate = base + fromB[j];
+                if (candidate < rowI[j]) {
+                    rowI[j] = candidate;
+                    nextI[j] = firstHop;
+                }
+            }
+        }
+    }
+
+    /**
+     * 弧 a -> b 的权重升高或被删除：只重新计算原最短路径经过该弧的那些列
+     */
+    private void increase(int a, int b) {
+        int[] nextA = next[a];
+        boolean[] affected = new boolean[n];
+        int count = 0;
+        for (int j = 0; j < n; j++) {
+            if (j != a && nextA[j] == b) {
+                affected[j] = true;
+                count++;
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+        double[] d = new double[n];
+        int[] hop = new int[n];
+        boolean[] settled = new boolean[n];
+        for (int j = 0; j < n; j++) {
+            if (affected[j]) {
+                recomputeColumn(j, d, hop, settled);
+                recomputedColumns++;
+            }
+        }
+    }
+
+    /**
+     * 以 j 为终点在反向图上执行 Dijkstra（稠密矩阵上的 O(V²) 版本），重写 dist[*][j] 与 next[*][j]
+     */
+    private void recomputeColumn(int j, double[] d, int[] hop, boolean[] settled) {
+        Arrays.fill(d, Double.POSITIVE_INFINITY);
+        Arrays.fill(hop, -1);
+        Arrays.fill(settled, false);
+        d[j] = 0.0;
+        for (int round = 0; round < n; round++) {
+            int x = -1;
+            double best = Double.POSITIVE_INFINITY;
+            for (int v = 0; v < n; v++) {
+                if (!settled[v] && d[v] < best) {
+                    best = d[v];
+                    x = v;
+                }
+            }
+            if (x < 0) {
+                break;  // 其余结点无法到达 j
+            }
+            settled[x] = true;
+            for (int u = 0; u < n; u++) {
+                double w = weight[u][x];
+                if (!settled[u] && w != Double.POSITIVE_INFINITY && best + w < d[u]) {
+                    d[u] = best + w;
+                    hop[u] = x;  // u 到 j 的路径上 u 之后的结点
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            dist[i][j] = d[i];
+            next[i][j] = hop[i];
+        }
+    }
+
+    private int index(String nodeId) {
+        Integer i = indexOf.get(nodeId);
+        if (i == null) {
+            throw new IllegalArgumentException("结点 " + nodeId + " 不在全源最短路径结果中，需要重新构建");
+        }
+        return i;
+    }
+}
@@ -0,0 +1,401 @@
+/**
+ * DynamicShortestPathTree.java
+ *
+ * 可增量修复的单源最短路径树（Ramalingam-Reps 风格），作为 GraphListener 挂在图上，随图的修改自动保持最新。
+ * 算法说明：
+ * 1. 加边或权重降低：若经该边能缩短终点的距离，则以终点为起点做一次局部 Dijkstra，只传播到距离确实变小的结点。
+ * 2. 删边或权重升高：只有当该边是树边时才有影响，受影响的恰好是其下端结点的子树。
+ *    先将子树中的结点距离置为无穷大，再为每个结点从子树外的入边中取最优候选，最后在子树内部执行 Dijkstra。
+ * 3. 其余结点的距离与树边保持不变，修复代价与受影响的结点数及其关联边数成正比，而不是整张图。
+ *
+ * 直接基于 Graph 的邻接表与关联边集合工作，不依赖快照。要求边权非负：
+ * 监听回调从不抛出异常，出现负权边后只将树标记为失效并停止增量维护，下次查询时整体重建；
+ * 若届时图中仍有负权边，查询抛出 IllegalStateException。
+ */
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+public class DynamicShortestPathTree implements GraphListener {
+
+    private final Graph graph;
+    private final String sourceId;
+    private final Map<String, Double> dist = new HashMap<>();          // 可达结点的最短距离，不在表中即不可达
+    private final Map<String, Edge> parentEdge = new HashMap<>();      // 进入结点的树边
+    private final Map<String, Set<String>> children = new HashMap<>(); // 树中的子结点
+    private int lastUpdateCount;
+    private boolean stale;  // 出现过负权边，需要在下次查询时整体重建
+
+    private DynamicShortestPathTree(Graph graph, String sourceId) {
+        this.graph = graph;
+        this.sourceId = sourceId;
+    }
+
+    /**
+     * 计算 sourceId 的最短路径树，并注册为 graph 的监听者
+     * @return 若起点不存在则返回 null
+     * @throws IllegalArgumentException 图中存在负权边
+     */
+    public static DynamicShortestPathTree attach(Graph graph, String sourceId) {
+        if (graph.getNodeById(sourceId) == null) {
+            return null;
+        }
+        for (Edge edge : graph.getEdges()) {
+            checkWeight(edge);
+        }
+        DynamicShortestPathTree tree = new DynamicShortestPathTree(graph, sourceId);
+        tree.rebuild();
+        graph.addGraphListener(tree);
+        return tree;
+    }
+
+    /**
+     * 从图上注销，此后不再随图更新
+     */
+    public void detach() {
+        graph.removeGraphListener(this);
+    }
+
+    /**
+     * 获取起点 ID
+     */
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    /**
+     * 获取起点到 nodeId 的最短距离，不可达为无穷大
+     */
+    public double getDistance(String nodeId) {
+        rebuildIfStale();
+        return distanceOf(nodeId);
+    }
+
+    /**
+     * 获取进入 nodeId 的树边，起点与不可达结点返回 null
+     */
+    public Edge getParentEdge(String nodeId) {
+        rebuildIfStale();
+        return parentEdge.get(nodeId);
+    }
+
+    /**
+     * 回溯起点到 targetId 的最短路径
+     * @return 若不可达则返回 null
+     */
+    public GraphAlgorithms.ShortestPathResult pathTo(String targetId) {
+        rebuildIfStale();
+        Double d = dist.get(targetId);
+        if (d == null) {
+            return null;
+        }
+        List<String> path = new ArrayList<>();
+        for (String node = targetId; node != null; node = parentOf(node)) {
+            path.add(node);
+        }
+        Collections.reverse(path);
+        return new GraphAlgorithms.ShortestPathResult(path, d);
+    }
+
+    /**
+     * 最近一次更新中距离被重新确定的结点数，用于评估增量修复的代价
+     */
+    public int getLastUpdateCount() {
+        return lastUpdateCount;
+    }
+
+    @Override
+    public void nodeAdded(Node node) {
+        // 起点被删除后又以相同 ID 加回
+        if (!stale && node.getId().equals(sourceId) && dist.isEmpty()) {
+            dist.put(sourceId, 0.0);
+        }
+    }
+
+    @Override
+    public void edgeAdded(Edge edge) {
+        if (stale || markStaleIfNegative(edge)) {
+            return;
+        }
+        relaxEdge(edge);
+    }
+
+    @Override
+    public void edgeRemoved(Edge edge) {
+        if (stale) {
+            return;
+        }
+        lastUpdateCount = 0;
+        repairIfTreeEdge(edge);
+    }
+
+    @Override
+    public void edgeWeightChanged(Edge edge, double oldWeight) {
+        if (stale || markStaleIfNegative(edge)) {
+            return;
+        }
+        if (edge.getWeight() < oldWeight) {
+            relaxEdge(edge);
+        } else if (edge.getWeight() > oldWeight) {
+            lastUpdateCount = 0;
+            repairIfTreeEdge(edge);
+        }
+    }
+
+    @Override
+    public void nodeRemoved(Node node) {
+        if (stale) {
+            return;
+        }
+        String id = node.getId();
+        if (id.equals(sourceId)) {
+            // 起点已被删除：所有结点均不可达
+            dist.clear();
+            parentEdge.clear();
+            children.clear();
+            return;
+        }
+        // 关联边此前已逐条删除，该结点已不在树中，这里只清理残留记录
+        dist.remove(id);
+        parentEdge.remove(id);
+        children.remove(id);
+    }
+
+    /**
+     * 从头计算整棵树
+     */
+    private void rebuild() {
+        dist.clear();
+        parentEdge.clear();
+        children.clear();
+        lastUpdateCount = 0;
+        stale = false;
+        if (graph.getNodeById(sourceId) != null) {
+            dist.put(sourceId, 0.0);
+            PriorityQueue<Entry> pq = new PriorityQueue<>();
+            pq.offer(new Entry(sourceId, 0.0));
+            propagate(pq);
+        }
+    }
+
+    /**
+     * 树已失效时整体重建
+     * @throws IllegalStateException 图中仍存在负权边
+     */
+    private void rebuildIfStale() {
+        if (!stale) {
+            return;
+        }
+        for (Edge edge : graph.getEdges()) {
+            if (edge.getWeight() < 0) {
+                throw new IllegalStateException("动态最短路径树要求边权非负：" + edge);
+            }
+        }
+        rebuild();
+    }
+
+    /**
+     * 边权为负时将树标记为失效
+     * @return 是否已标记为失效
+     */
+    private boolean markStaleIfNegative(Edge edge) {
+        if (edge.getWeight() < 0) {
+            stale = true;
+        }
+        return stale;
+    }
+
+    private double distanceOf(String nodeId) {
+        return dist.getOrDefault(nodeId, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * 加边或权重降低：检查该边的每个方向能否缩短终点的距离，能则从终点开始局部传播
+     */
+    private void relaxEdge(Edge edge) {
+        lastUpdateCount = 0;
+        String start = edge.getStartNode().getId();
+        String end = edge.getEndNode().getId();
+        PriorityQueue<Entry> pq = new PriorityQueue<>();
+        relaxArc(start, end, edge, pq);
+        if (!edge.isDirected()) {
+            relaxArc(end, start, edge, pq);
+        }
+        propagate(pq);
+    }
+
+    private void relaxArc(String tail, String head, Edge edge, PriorityQueue<Entry> pq) {
+        Double base = dist.get(tail);
+        if (base == null) {
+            return;
+        }
+        double newDist = base + edge.getWeight();
+        if (newDist < distanceOf(head)) {
+            dist.put(head, newDist);
+            setParent(head, edge, tail);
+            pq.offer(new Entry(head, newDist));
+        }
+    }
+
+    /**
+     * 删边或权重升高：若该边是某个端点的树边，则重新计算该端点的整棵子树
+     */
+    private void repairIfTreeEdge(Edge edge) {
+        String start = edge.getStartNode().getId();
+        String end = edge.getEndNode().getId();
+        if (parentEdge.get(end) == edge) {
+            repairSubtree(end);
+        } else if (parentEdge.get(start) == edge) {
+            repairSubtree(start);
+        }
+    }
+
+    private void repairSubtree(String root) {
+        // 收集子树
+        List<String> affected = new ArrayList<>();
+        Set<String> affectedSet = new HashSet<>();
+        Deque<String> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            String node = stack.pop();
+            affected.add(node);
+            affectedSet.add(node);
+            Set<String> kids = children.get(node);
+            if (kids != null) {
+                for (String child : kids) {
+                    stack.push(child);
+                }
+            }
+        }
+
+        // 将子树从树中摘下，距离置为无穷大
+        String rootParent = parentOf(root);
+        if (rootParent != null && children.containsKey(rootParent)) {
+            children.get(rootParent).remove(root);
+        }
+        for (String node : affected) {
+            dist.remove(node);
+            parentEdge.remove(node);
+            children.remove(node);
+        }
+
+        // 为子树中的每个结点从子树外的入边中选取最优候选
+        PriorityQueue<Entry> pq = new PriorityQueue<>();
+        for (String node : affected) {
+            Set<Edge> incident = graph.getIncidentEdges(node);
+            if (incident == null) {
+                continue;
+            }
+            for (Edge e : incident) {
+                String tail = tailOf(e, node);
+                if (tail == null || affectedSet.contains(tail)) {
+                    continue;
+                }
+                relaxArc(tail, node, e, pq);
+            }
+        }
+        propagate(pq);
+    }
+
+    /**
+     * 基于延迟删除的 Dijkstra 传播：从队列中的结点出发，沿出边更新所有能被缩短的结点
+     */
+    private void propagate(PriorityQueue<Entry> pq) {
+        while (!pq.isEmpty()) {
+            Entry entry = pq.poll();
+            String current = entry.nodeId;
+            if (entry.distance > distanceOf(current)) {
+                continue;  // 过期记录
+            }
+            lastUpdateCount++;
+            List<GraphAlgorithms.AdjNode> neighbors = graph.getNeighbors(current);
+            if (neighbors == null) {
+                continue;
+            }
+            for (GraphAlgorithms.AdjNode adj : neighbors) {
+                String neighId = adj.getNodeId();
+                double newDist = entry.distance + adj.getWeight();
+                if (newDist < distanceOf(neighId)) {
+                    dist.put(neighId, newDist);
+                    setParent(neighId, adj.getEdge(), current);
+                    pq.offer(new Entry(neighId, newDist));
+                }
+            }
+        }
+    }
+
+    /**
+     * 将 node 的树边改为 edge（tail -> node），并同步维护子结点表
+     */
+    private void setParent(String node, Edge edge, String tail) {
+        Edge old = parentEdge.put(node, edge);
+        if (old != null) {
+            Set<String> siblings = children.get(otherEnd(old, node));
+            if (siblings != null) {
+                siblings.remove(node);
+            }
+        }
+        children.computeIfAbsent(tail, k -> new LinkedHashSet<>()).add(node);
+    }
+
+    /**
+     * 树中的父结点，起点与不可达结点返回 null
+     */
+    private String parentOf(String node) {
+        Edge edge = parentEdge.get(node);
+        return edge == null ? null : otherEnd(edge, node);
+    }
+
+    /**
+     * 若 edge 可作为进入 node 的弧，返回弧的起点；否则（有向边方向不符或自环）返回 null
+     */
+    private static String tailOf(Edge edge, String node) {
+        String start = edge.getStartNode().getId();
+        String end = edge.getEndNode().getId();
+        if (start.equals(end)) {
+            return null;
+        }
+        if (end.equals(node)) {
+            return start;
+        }
+        return edge.isDirected() ? null : end;
+    }
+
+    private static String otherEnd(Edge edge, String node) {
+        String start = edge.getStartNode().getId();
+        return start.equals(node) ? edge.getEndNode().getId() : start;
+    }
+
+    private static void checkWeight(Edge edge) {
+        if (edge.getWeight() < 0) {
+            throw new IllegalArgumentException("动态最短路径树要求边权非负：" + edge);
+        }
+    }
+
+    /**
+     * 优先队列中的记录：结点 ID 及其入队时的距离
+     */
+    private static class Entry implements Comparable<Entry> {
+        private final String nodeId;
+        private final double distance;
+
+        Entry(String nodeId, double distance) {
+            this.nodeId = nodeId;
+            this.distance = distance;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return Double.compare(distance, other.distance);
+        }
+    }
+}
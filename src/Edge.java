@@ -7,6 +7,7 @@
  * 2. endNode：边的终止结点。
  * 3. weight：边的权重（可选）。
  * 4. directed：是否是有向边的标识。
+ * 5. owner：边所在的图，用于在权重修改时通知该图。
  */
 
 public class Edge {
@@ -15,6 +16,7 @@ public class Edge {
     private Node endNode;    // 边的终止结点
     private double weight;   // 边的权重
     private boolean directed; // 是否有向
+    private Graph owner;      // 边所在的图，未加入任何图时为 null
 
     /**
      * 构造方法：有向边，或无向边（通过 directed 决定）。
@@ -39,10 +41,12 @@ public class Edge {
     }
 
     /**
-     * 设置起始结点
+     * 设置起始结点，只能在边加入图之前调用
      * @param startNode 新的起始结点
+     * @throws IllegalStateException 边已加入图
      */
     public void setStartNode(Node startNode) {
+        checkDetached();
         this.startNode = startNode;
     }
 
@@ -55,10 +59,12 @@ public class Edge {
     }
 
     /**
-     * 设置终止结点
+     * 设置终止结点，只能在边加入图之前调用
      * @param endNode 新的终止结点
+     * @throws IllegalStateException 边已加入图
      */
     public void setEndNode(Node endNode) {
+        checkDetached();
         this.endNode = endNode;
     }
 
@@ -71,11 +77,30 @@ public class Edge {
     }
 
     /**
-     * 设置边的权重
+     * 设置边的权重。若边已加入图且权重发生变化，会通知该图（更新版本号、使快照失效并通知监听者）
      * @param weight 新的权重值
      */
     public void setWeight(double weight) {
+        double oldWeight = this.weight;
         this.weight = weight;
+        if (owner != null && oldWeight != weight) {
+            owner.edgeWeightChanged(this, oldWeight);
+        }
+    }
+
+    /**
+     * 获取边所在的图
+     * @return 所在的图，未加入任何图时返回 null
+     */
+    public Graph getOwner() {
+        return owner;
+    }
+
+    /**
+     * 设置边所在的图，由 Graph 在添加和删除边时调用
+     */
+    void setOwner(Graph owner) {
+        this.owner = owner;
     }
 
     /**
@@ -87,13 +112,24 @@ public class Edge {
     }
 
     /**
-     * 设置是否为有向边
+     * 设置是否为有向边，只能在边加入图之前调用
      * @param directed 是否有向
+     * @throws IllegalStateException 边已加入图
      */
     public void setDirected(boolean directed) {
+        checkDetached();
         this.directed = directed;
     }
 
+    /**
+     * 端点与方向决定了 hashCode，边加入图后作为 Graph 内部集合的元素，修改会使这些集合无法再找到它
+     */
+    private void checkDetached() {
+        if (owner != null) {
+            throw new IllegalStateException("边已加入图，不能修改端点或方向，请先删除后重新添加：" + this);
+        }
+    }
+
     /**
      * 重写 equals 方法，用于判断两条边是否相同
      * 可根据需求调整判定规则
@@ -123,19 +159,18 @@ public class Edge {
     /**
      * 重写 hashCode 方法，与 equals 保持一致
      * 无向边的哈希可做“排大小”处理，以规避 (start, end) 与 (end, start) 造成的冲突
+     * 直接组合两个 ID 的哈希值，避免每次计算都拼接字符串（Graph 的边集合会频繁调用）
      */
     @Override
     public int hashCode() {
+        int h1 = startNode.getId().hashCode();
+        int h2 = endNode.getId().hashCode();
         if (!directed) {
-            // 无向：将两个节点ID排序后进行拼接，以统一表示
-            String s1 = (startNode.getId().compareTo(endNode.getId()) <= 0)
-                    ? startNode.getId() : endNode.getId();
-            String s2 = (s1.equals(startNode.getId()))
-                    ? endNode.getId() : startNode.getId();
-            return (s1 + "_" + s2).hashCode();
+            // 无向：将两个哈希值排序后组合，以统一表示
+            return 31 * (31 * Math.min(h1, h2) + Math.max(h1, h2));
         } else {
-            // 有向：直接拼接 start -> end
-            return (startNode.getId() + "->" + endNode.getId()).hashCode();
+            // 有向：按 start -> end 的顺序组合
+            return 31 * (31 * h1 + h2) + 1;
         }
     }
 
@@ -0,0 +1,374 @@
+/**
+ * FrozenGraph.java
+ *
+ * Graph 的不可变快照，采用压缩稀疏行（CSR）格式存储邻接关系。
+ * 主要内容：
+ * 1. 将结点 ID 映射为 0..n-1 的稠密整数下标。
+ * 2. offsets：长度为 n+1，结点 i 的出边位于 [offsets[i], offsets[i+1]) 区间。
+ * 3. targets / weights / edgeIds：按区间平铺的相邻结点下标、边权重以及对应边在 edges 中的下标。
+ * 4. xs / ys：快照时刻各结点的坐标，供 A* 等几何启发式使用。
+ *
+ * 快照建立后不再随 Graph 变化，适合查询远多于拓扑修改的场景：
+ * 一次性付出 O(V+E) 的构建代价，之后的遍历只访问连续的基本类型数组。
+ * 每个结点的出边顺序与 Graph 邻接表的顺序一致，因此遍历顺序与基于 Graph 的算法相同。
+ * reverse() 可得到所有边反向后的快照（即入边邻接），供反向搜索使用；
+ * undirected() 可得到忽略边方向的快照，供桥与割点等基于无向连通性的分析使用。
+ */
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+public class FrozenGraph {
+
+    private final Node[] nodes;                    // 下标 -> 结点
+    private final Map<String, Integer> indexById;  // 结点 ID -> 下标（仅在接口边界处使用）
+    private final Edge[] edges;                    // 快照时刻的所有边
+    private final double[] xs;                     // 快照时刻的结点 x 坐标
+    private final double[] ys;                     // 快照时刻的结点 y 坐标
+
+    private final int[] offsets;    // CSR 行偏移
+    private final int[] targets;    // 相邻结点下标
+    private final double[] weights; // 边权重（快照时刻的值）
+    private final int[] edgeIds;    // 对应的边在 edges 中的下标
+
+    private volatile FrozenGraph reversed;    // 反向快照，首次使用时构建
+    private volatile FrozenGraph undirected;  // 忽略方向的快照，首次使用时构建
+    private volatile double admissibleScale = Double.NaN;  // A* 欧氏启发的最大可采纳系数，首次使用时计算
+    private volatile int negativeWeight = -1;  // 是否存在负权槽位：-1 未计算，0 否，1 是
+
+    /**
+     * 构造方法：根据结点与边集合建立快照，一般通过 Graph.freeze() 获得
+     * @param nodeCollection 结点集合（顺序即为下标顺序）
+     * @param edgeCollection 边集合（顺序决定每个结点出边的顺序）
+     */
+    FrozenGraph(Collection<Node> nodeCollection, Collection<Edge> edgeCollection) {
+        int n = nodeCollection.size();
+        this.nodes = nodeCollection.toArray(new Node[0]);
+        this.edges = edgeCollection.toArray(new Edge[0]);
+        this.indexById = new HashMap<>(n * 2);
+        this.xs = new double[n];
+        this.ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            indexById.put(nodes[i].getId(), i);
+            xs[i] = nodes[i].getX();
+            ys[i] = nodes[i].getY();
+        }
+
+        // 第一遍：统计每个结点的出度（无向边两端各计一次）
+        int[] starts = new int[edges.length];
+        int[] ends = new int[edges.length];
+        this.offsets = new int[n + 1];
+        for (int e = 0; e < edges.length; e++) {
+            starts[e] = indexById.get(edges[e].getStartNode().getId());
+            ends[e] = indexById.get(edges[e].getEndNode().getId());
+            offsets[starts[e] + 1]++;
+            if (!edges[e].isDirected()) {
+                offsets[ends[e] + 1]++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        // 第二遍：按边的顺序填充各结点区间
+        int m = offsets[n];
+        this.targets = new int[m];
+        this.weights = new double[m];
+        this.edgeIds = new int[m];
+        int[] cursor = new int[n];
+        System.arraycopy(offsets, 0, cursor, 0, n);
+        for (int e = 0; e < edges.length; e++) {
+            double w = edges[e].getWeight();
+            int slot = cursor[starts[e]]++;
+            targets[slot] = ends[e];
+            weights[slot] = w;
+            edgeIds[slot] = e;
+            if (!edges[e].isDirected()) {
+                slot = cursor[ends[e]]++;
+                targets[slot] = starts[e];
+                weights[slot] = w;
+                edgeIds[slot] = e;
+            }
+        }
+    }
+
+    /**
+     * 构造方法：复用 source 的结点、边与邻接结构，仅替换边权重
+     */
+    private FrozenGraph(FrozenGraph source, double[] weights) {
+        this.nodes = source.nodes;
+        this.indexById = source.indexById;
+        this.edges = source.edges;
+        this.xs = source.xs;
+        this.ys = source.ys;
+        this.offsets = source.offsets;
+        this.targets = source.targets;
+        this.edgeIds = source.edgeIds;
+        this.weights = weights;
+    }
+
+    /**
+     * 构造方法：由 source 转置得到反向快照（结点 v 的出边即 source 中 v 的入边）
+     */
+    private FrozenGraph(FrozenGraph source) {
+        int n = source.nodes.length;
+        this.nodes = source.nodes;
+        this.indexById = source.indexById;
+        this.edges = source.edges;
+        this.xs = source.xs;
+        this.ys = source.ys;
+        this.offsets = new int[n + 1];
+        for (int slot = 0; slot < source.targets.length; slot++) {
+            offsets[source.targets[slot] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int m = offsets[n];
+        this.targets = new int[m];
+        this.weights = new double[m];
+        this.edgeIds = new int[m];
+        int[] cursor = new int[n];
+        System.arraycopy(offsets, 0, cursor, 0, n);
+        for (int u = 0; u < n; u++) {
+            for (int slot = source.offsets[u]; slot < source.offsets[u + 1]; slot++) {
+                int r = cursor[source.targets[slot]]++;
+                targets[r] = u;
+                weights[r] = source.weights[slot];
+                edgeIds[r] = source.edgeIds[slot];
+            }
+        }
+        this.reversed = source;
+    }
+
+    /**
+     * 构造方法：由 source 得到忽略边方向的快照（有向边补登一条反向弧，无向边保持不变）
+     */
+    private FrozenGraph(FrozenGraph source, boolean ignoreDirection) {
+        int n = source.nodes.length;
+        this.nodes = source.nodes;
+        this.indexById = source.indexById;
+        this.edges = source.edges;
+        this.xs = source.xs;
+        this.ys = source.ys;
+        this.offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            for (int slot = source.offsets[u]; slot < source.offsets[u + 1]; slot++) {
+                offsets[u + 1]++;
+                if (edges[source.edgeIds[slot]].isDirected()) {
+                    offsets[source.targets[slot] + 1]++;
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int m = offsets[n];
+        this.targets = new int[m];
+        this.weights = new double[m];
+        this.edgeIds = new int[m];
+        int[] cursor = new int[n];
+        System.arraycopy(offsets, 0, cursor, 0, n);
+        for (int u = 0; u < n; u++) {
+            for (int slot = source.offsets[u]; slot < source.offsets[u + 1]; slot++) {
+                int v = source.targets[slot];
+                int e = source.edgeIds[slot];
+                int r = cursor[u]++;
+                targets[r] = v;
+                weights[r] = source.weights[slot];
+                edgeIds[r] = e;
+                if (edges[e].isDirected()) {
+                    r = cursor[v]++;
+                    targets[r] = u;
+                    weights[r] = source.weights[slot];
+                    edgeIds[r] = e;
+                }
+            }
+        }
+        this.undirected = this;
+    }
+
+    /**
+     * 获取忽略边方向的快照：每条有向边也在两个方向上登记，槽位对应的边下标不变。
+     * 图中没有有向边时直接返回当前快照，否则首次调用时构建并缓存。
+     * @return 无向快照
+     */
+    public FrozenGraph undirected() {
+        FrozenGraph u = undirected;
+        if (u == null) {
+            synchronized (this) {
+                u = undirected;
+                if (u == null) {
+                    boolean hasDirected = false;
+                    for (Edge edge : edges) {
+                        hasDirected |= edge.isDirected();
+                    }
+                    u = hasDirected ? new FrozenGraph(this, true) : this;
+                    undirected = u;
+                }
+            }
+        }
+        return u;
+    }
+
+    /**
+     * 获取所有边反向后的快照：其中结点 v 的出边对应当前快照中指向 v 的边。
+     * 无向边在两个方向上均已登记，因此反向后保持不变。
+     * 反向快照与当前快照共享结点与边数组，首次调用时构建并缓存。
+     * @return 反向快照
+     */
+    public FrozenGraph reverse() {
+        FrozenGraph r = reversed;
+        if (r == null) {
+            synchronized (this) {
+                r = reversed;
+                if (r == null) {
+                    r = new FrozenGraph(this);
+                    reversed = r;
+                }
+            }
+        }
+        return r;
+    }
+
+    /**
+     * 获取 A* 欧氏距离启发的最大可采纳换算系数（见 AStarHeuristic.maxAdmissibleScale）。
+     * 计算需要扫描所有边，首次调用时计算并缓存；并发的首次调用可能重复计算，结果相同。
+     */
+    double getAdmissibleScale() {
+        double scale = admissibleScale;
+        if (Double.isNaN(scale)) {
+            scale = AStarHeuristic.maxAdmissibleScale(this);
+            admissibleScale = scale;
+        }
+        return scale;
+    }
+
+    /**
+     * 是否存在负权边（Dijkstra 类算法的前提是边权非负）。
+     * 首次调用时扫描所有槽位并缓存；并发的首次调用可能重复计算，结果相同。
+     */
+    public boolean hasNegativeWeight() {
+        int flag = negativeWeight;
+        if (flag < 0) {
+            flag = 0;
+            for (double w : weights) {
+                if (w < 0) {
+                    flag = 1;
+                    break;
+                }
+            }
+            negativeWeight = flag;
+        }
+        return flag == 1;
+    }
+
+    /**
+     * 生成一个结构相同、仅边权重不同的快照（例如 Johnson 算法的重新赋权）
+     * @param newWeights 与 getWeights() 等长的新权重数组，按槽位对应
+     * @return 新的快照，结构数组与当前快照共享
+     */
+    public FrozenGraph withWeights(double[] newWeights) {
+        if (newWeights.length != weights.length) {
+            throw new IllegalArgumentException("权重数组长度应为 " + weights.length);
+        }
+        return new FrozenGraph(this, newWeights);
+    }
+
+    /**
+     * 获取结点数量
+     */
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    /**
+     * 获取边的数量（Edge 对象个数，无向边只计一次）
+     */
+    public int getEdgeCount() {
+        return edges.length;
+    }
+
+    /**
+     * 根据结点 ID 获取下标
+     * @param nodeId 结点 ID
+     * @return 下标，若快照中不存在该结点则返回 -1
+     */
+    public int getIndex(String nodeId) {
+        Integer index = indexById.get(nodeId);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * 根据下标获取结点 ID
+     */
+    public String getId(int index) {
+        return nodes[index].getId();
+    }
+
+    /**
+     * 根据下标获取结点对象
+     */
+    public Node getNode(int index) {
+        return nodes[index];
+    }
+
+    /**
+     * 获取快照时刻结点的 x 坐标（之后拖动结点不会影响快照）
+     */
+    public double getX(int index) {
+        return xs[index];
+    }
+
+    /**
+     * 获取快照时刻结点的 y 坐标
+     */
+    public double getY(int index) {
+        return ys[index];
+    }
+
+    /**
+     * 根据边下标获取边对象
+     */
+    public Edge getEdge(int edgeId) {
+        return edges[edgeId];
+    }
+
+    /**
+     * 结点 i 的出度
+     */
+    public int getDegree(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    // 以下方法直接返回内部数组以便算法在热点循环中访问，调用方不得修改其内容
+
+    /**
+     * CSR 行偏移数组（长度 n+1）
+     */
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    /**
+     * 相邻结点下标数组
+     */
+    public int[] getTargets() {
+        return targets;
+    }
+
+    /**
+     * 边权重数组
+     */
+    public double[] getWeights() {
+        return weights;
+    }
+
+    /**
+     * 每个槽位对应的边下标数组
+     */
+    public int[] getEdgeIds() {
+        return edgeIds;
+    }
+}
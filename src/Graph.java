@@ -4,29 +4,57 @@
  * 用于表示图的数据结构，并提供添加/删除结点和边等操作方法。
  *
  * 功能概述：
- * 1. 维护一个存储所有结点的列表（或集合）。
- * 2. 维护一个存储所有边的列表（或集合）。
+ * 1. 维护一个以结点 ID 为键的结点索引（保留插入顺序）。
+ * 2. 维护一个存储所有边的哈希集合（保留插入顺序），以及每个结点的关联边集合。
  * 3. 提供结点和边的增删改查方法。
  * 4. 可为后续的图算法提供基础数据操作支持。
+ * 5. 维护随增删操作增量更新的邻接表，图算法可直接读取，无需每次重建。
+ * 6. 可生成不可变的 CSR 快照（FrozenGraph），供读多写少的算法使用。
+ * 7. 维护单调递增的修改版本号，供查询缓存判断结果是否过期。
+ * 8. 支持注册 GraphListener，在每次修改（包括通过 Edge.setWeight 修改权重）后发出通知。
  */
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class Graph {
 
-    // 存储图中所有结点
-    private List<Node> nodes;
+    // 存储图中所有结点：以结点 ID 为键的哈希索引，LinkedHashMap 保留插入顺序
+    private Map<String, Node> nodes;
 
-    // 存储图中所有边
-    private List<Edge> edges;
+    // 存储图中所有边：以 Edge 的 equals/hashCode 作为边键，重复检测期望 O(1)
+    private Set<Edge> edges;
+
+    // 关联边索引：key 为结点 ID，value 为以该结点为端点的所有边
+    private Map<String, Set<Edge>> incidentEdges;
+
+    // 邻接表：key 为结点 ID，value 为其出边指向的相邻结点（无向边双向登记）
+    private Map<String, List<GraphAlgorithms.AdjNode>> adjacency;
+
+    // 最近一次生成的 CSR 快照，任何结构修改都会将其置空
+    private FrozenGraph frozen;
+
+    // 修改版本号：每次成功的增删操作或边权修改都会使其加一
+    private long version;
+
+    // 修改监听者，通知期间允许增删监听者
+    private final List<GraphListener> listeners = new CopyOnWriteArrayList<>();
 
     /**
      * 构造方法：初始化结点和边的集合
      */
     public Graph() {
-        this.nodes = new ArrayList<>();
-        this.edges = new ArrayList<>();
+        this.nodes = new LinkedHashMap<>();
+        this.edges = new LinkedHashSet<>();
+        this.incidentEdges = new HashMap<>();
+        this.adjacency = new HashMap<>();
     }
 
     /**
@@ -35,14 +63,19 @@ public class Graph {
      * @return 是否添加成功（若已存在相同标识的结点，可返回 false）
      */
     public boolean addNode(Node node) {
-        // 检查是否已有同名结点
-        for (Node existingNode : nodes) {
-            if (existingNode.getId().equals(node.getId())) {
-                // 若结点标识相同，则不再重复添加
-                return false;
-            }
+        // 检查是否已有同名结点（哈希查找，期望 O(1)）
+        if (nodes.containsKey(node.getId())) {
+            // 若结点标识相同，则不再重复添加
+            return false;
+        }
+        nodes.put(node.getId(), node);
+        frozen = null;
+        version++;
+        incidentEdges.put(node.getId(), new LinkedHashSet<>());
+        adjacency.put(node.getId(), new ArrayList<>());
+        for (GraphListener listener : listeners) {
+            listener.nodeAdded(node);
         }
-        nodes.add(node);
         return true;
     }
 
@@ -53,18 +86,26 @@ public class Graph {
      */
     public boolean removeNode(String nodeId) {
         // 首先查找是否存在该结点
-        Node targetNode = nodes.stream().filter(n -> n.getId().equals(nodeId)).findFirst().orElse(null);
+        Node targetNode = nodes.get(nodeId);
         if (targetNode == null) {
             // 未找到目标结点
             return false;
         }
 
-        // 如果找到，先删除与其相关的边
-        edges.removeIf(edge -> edge.getStartNode().equals(targetNode)
-                || edge.getEndNode().equals(targetNode));
+        // 如果找到，先删除与其相关的边（只遍历其关联边，代价与度数成正比）
+        for (Edge edge : new ArrayList<>(incidentEdges.get(nodeId))) {
+            detachEdge(edge);
+        }
 
         // 再从结点列表中删除
-        nodes.remove(targetNode);
+        nodes.remove(nodeId);
+        frozen = null;
+        version++;
+        incidentEdges.remove(nodeId);
+        adjacency.remove(nodeId);
+        for (GraphListener listener : listeners) {
+            listener.nodeRemoved(targetNode);
+        }
         return true;
     }
 
@@ -74,22 +115,27 @@ public class Graph {
      * @return 是否添加成功（若相同边已存在，可返回 false）
      */
     public boolean addEdge(Edge edge) {
-        // 检查是否已有完全相同的边
-        for (Edge existingEdge : edges) {
-            // 对无向边，可以将起点终点对调后比较
-            // 此处仅示例性处理，可根据需求调整
-            if (existingEdge.equals(edge)) {
-                return false;
-            }
+        // 检查是否已有完全相同的边（无向边的起点终点对调视为同一条边，见 Edge.equals）
+        if (edges.contains(edge)) {
+            return false;
         }
 
         // 只有当起点与终点都在图中时，才能成功添加
-        if (!nodes.contains(edge.getStartNode()) ||
-                !nodes.contains(edge.getEndNode())) {
+        if (!nodes.containsKey(edge.getStartNode().getId()) ||
+                !nodes.containsKey(edge.getEndNode().getId())) {
             return false;
         }
 
         edges.add(edge);
+        frozen = null;
+        version++;
+        incidentEdges.get(edge.getStartNode().getId()).add(edge);
+        incidentEdges.get(edge.getEndNode().getId()).add(edge);
+        linkAdjacency(edge);
+        edge.setOwner(this);
+        for (GraphListener listener : listeners) {
+            listener.edgeAdded(edge);
+        }
         return true;
     }
 
@@ -100,9 +146,13 @@ public class Graph {
      * @return 是否删除成功
      */
     public boolean removeEdge(String startId, String endId) {
-        // 查找图中符合条件的边
+        // 在起点的关联边中查找符合条件的边
+        Set<Edge> candidates = incidentEdges.get(startId);
+        if (candidates == null) {
+            return false;
+        }
         Edge targetEdge = null;
-        for (Edge e : edges) {
+        for (Edge e : candidates) {
             if (e.getStartNode().getId().equals(startId)
                     && e.getEndNode().getId().equals(endId)) {
                 targetEdge = e;
@@ -112,7 +162,7 @@ public class Graph {
         if (targetEdge == null) {
             return false;
         }
-        edges.remove(targetEdge);
+        detachEdge(targetEdge);
         return true;
     }
 
@@ -122,12 +172,27 @@ public class Graph {
      * @return 对应的 Node 对象，若未找到则返回 null
      */
     public Node getNodeById(String nodeId) {
-        for (Node n : nodes) {
-            if (n.getId().equals(nodeId)) {
-                return n;
-            }
-        }
-        return null;
+        return nodes.get(nodeId);
+    }
+
+    /**
+     * 获取某结点的邻接记录（只读视图，随图的修改实时更新）
+     * @param nodeId 结点的唯一标识
+     * @return 相邻结点列表，若结点不存在则返回 null
+     */
+    public List<GraphAlgorithms.AdjNode> getNeighbors(String nodeId) {
+        List<GraphAlgorithms.AdjNode> neighbors = adjacency.get(nodeId);
+        return neighbors == null ? null : Collections.unmodifiableList(neighbors);
+    }
+
+    /**
+     * 获取以某结点为端点的所有边（只读视图）
+     * @param nodeId 结点的唯一标识
+     * @return 关联边集合，若结点不存在则返回 null
+     */
+    public Set<Edge> getIncidentEdges(String nodeId) {
+        Set<Edge> incident = incidentEdges.get(nodeId);
+        return incident == null ? null : Collections.unmodifiableSet(incident);
     }
 
     /**
@@ -136,7 +201,7 @@ public class Graph {
      */
     public List<Node> getNodes() {
         // 返回副本或只读视图，可避免外部直接修改集合
-        return new ArrayList<>(nodes);
+        return new ArrayList<>(nodes.values());
     }
 
     /**
@@ -147,6 +212,100 @@ public class Graph {
         return new ArrayList<>(edges);
     }
 
+    /**
+     * 获取图的修改版本号。addNode、removeNode、addEdge、removeEdge 成功时，
+     * 以及通过 Edge.setWeight 修改图中某条边的权重时都会使其递增，版本号相同即说明期间图没有被修改。
+     * @return 当前版本号
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * 生成当前图的不可变 CSR 快照，供读多写少的算法使用。
+     * 图未被修改时，重复调用直接返回同一个快照；通过 Edge.setWeight 修改权重同样会使快照失效。
+     * @return 当前图的 FrozenGraph 快照
+     */
+    public FrozenGraph freeze() {
+        if (frozen == null) {
+            frozen = new FrozenGraph(nodes.values(), edges);
+        }
+        return frozen;
+    }
+
+    /**
+     * 注册修改监听者
+     * @param listener 监听者
+     */
+    public void addGraphListener(GraphListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 注销修改监听者
+     * @param listener 监听者
+     */
+    public void removeGraphListener(GraphListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * 由 Edge.setWeight 调用：图中某条边的权重已修改
+     */
+    void edgeWeightChanged(Edge edge, double oldWeight) {
+        frozen = null;
+        version++;
+        for (GraphListener listener : listeners) {
+            listener.edgeWeightChanged(edge, oldWeight);
+        }
+    }
+
+    /**
+     * 从边集合、两端结点的关联边集合以及邻接表中移除一条边
+     */
+    private void detachEdge(Edge edge) {
+        edges.remove(edge);
+        frozen = null;
+        version++;
+        incidentEdges.get(edge.getStartNode().getId()).remove(edge);
+        incidentEdges.get(edge.getEndNode().getId()).remove(edge);
+        unlinkAdjacency(edge);
+        if (edge.getOwner() == this) {
+            edge.setOwner(null);
+        }
+        for (GraphListener listener : listeners) {
+            listener.edgeRemoved(edge);
+        }
+    }
+
+    /**
+     * 将一条新边登记到邻接表：起点 -> 终点，无向边再登记终点 -> 起点
+     */
+    private void linkAdjacency(Edge edge) {
+        String startId = edge.getStartNode().getId();
+        String endId   = edge.getEndNode().getId();
+        adjacency.get(startId).add(new GraphAlgorithms.AdjNode(endId, edge));
+        if (!edge.isDirected()) {
+            adjacency.get(endId).add(new GraphAlgorithms.AdjNode(startId, edge));
+        }
+    }
+
+    /**
+     * 从邻接表中移除某条边对应的记录（按边对象本身匹配，避免误删平行边）
+     */
+    private void unlinkAdjacency(Edge edge) {
+        List<GraphAlgorithms.AdjNode> out = adjacency.get(edge.getStartNode().getId());
+        if (out != null) {
+            out.removeIf(adj -> adj.getEdge() == edge);
+        }
+        if (!edge.isDirected()) {
+            List<GraphAlgorithms.AdjNode> in = adjacency.get(edge.getEndNode().getId());
+            if (in != null) {
+                in.removeIf(adj -> adj.getEdge() == edge);
+            }
+        }
+    }
+
     /**
      * 打印调试信息：显示所有结点和边
      * 便于在控制台查看当前图结构
@@ -11,9 +11,16 @@
  */
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 public class GraphAlgorithms {
 
+    // 边数低于该值时，Δ-stepping 的并行开销超过收益，改用顺序 Dijkstra
+    private static final int DELTA_STEPPING_MIN_EDGES = 200_000;
+
+    /** 边数不少于该值且线程池可并行时，最小生成树使用并行 Borůvka，否则使用 Kruskal */
+    private static final int BORUVKA_MIN_EDGES = 100_000;
+
     /**
      * 根据当前 Graph 构建邻接表。
      * @param graph 当前的图
@@ -58,6 +65,12 @@ public class GraphAlgorithms {
         List<Node> nodeList = new ArrayList<>(graph.getNodes());
         int n = nodeList.size();
 
+        // 节点 ID -> 行列索引，避免对每条边调用 nodeList.indexOf
+        Map<String, Integer> indexById = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            indexById.put(nodeList.get(i).getId(), i);
+        }
+
         // 创建一个 n*n 的矩阵，初始化为无穷大，表示没有直接边
         List<List<Double>> matrix = new ArrayList<>();
         for (int i = 0; i < n; i++) {
@@ -76,8 +89,8 @@ public class GraphAlgorithms {
             Node endNode   = edge.getEndNode();
             double weight  = edge.getWeight();
 
-            int startIndex = nodeList.indexOf(startNode);
-            int endIndex   = nodeList.indexOf(endNode);
+            int startIndex = indexById.get(startNode.getId());
+            int endIndex   = indexById.get(endNode.getId());
 
             // 设置矩阵值
             matrix.get(startIndex).set(endIndex, weight);
@@ -99,39 +112,33 @@ public class GraphAlgorithms {
      * @return 返回遍历节点的 ID 顺序列表
      */
     public static List<String> depthFirstSearch(Graph graph, String startNodeId) {
-        // 首先获取邻接表
-        Map<String, List<AdjNode>> adjacencyList = buildAdjacencyList(graph);
-
-        // DFS 使用栈/递归，这里演示递归方式
+        // 使用显式栈保存每一层尚未检查的邻居迭代器，访问顺序与递归实现相同，链状图再深也不会栈溢出
         List<String> visitedOrder = new ArrayList<>();
         Set<String> visited = new HashSet<>();
+        Deque<Iterator<AdjNode>> stack = new ArrayDeque<>();
 
-        dfsRecursive(startNodeId, adjacencyList, visited, visitedOrder);
-
-        return visitedOrder;
-    }
-
-    /**
-     * 递归 DFS 辅助函数
-     */
-    private static void dfsRecursive(String current,
-                                     Map<String, List<AdjNode>> adjacencyList,
-                                     Set<String> visited,
-                                     List<String> visitedOrder) {
-        // 标记当前节点已访问
-        visited.add(current);
-        visitedOrder.add(current);
-
-        // 遍历相邻节点
-        List<AdjNode> neighbors = adjacencyList.get(current);
-        if (neighbors == null) return;  // 该节点无邻接表记录或不存在
-
-        for (AdjNode adj : neighbors) {
-            String neighborId = adj.getNodeId();
-            if (!visited.contains(neighborId)) {
-                dfsRecursive(neighborId, adjacencyList, visited, visitedOrder);
+        visited.add(startNodeId);
+        visitedOrder.add(startNodeId);
+        List<AdjNode> startNeighbors = graph.getNeighbors(startNodeId);
+        if (startNeighbors == null) return visitedOrder;  // 该节点无邻接表记录或不存在
+        stack.push(startNeighbors.iterator());
+
+        while (!stack.isEmpty()) {
+            Iterator<AdjNode> it = stack.peek();
+            if (!it.hasNext()) {
+                stack.pop();  // 邻居已全部检查，回溯
+                continue;
+            }
+            String neighborId = it.next().getNodeId();
+            if (visited.add(neighborId)) {
+                visitedOrder.add(neighborId);
+                List<AdjNode> neighbors = graph.getNeighbors(neighborId);
+                if (neighbors != null) {
+                    stack.push(neighbors.iterator());
+                }
             }
         }
+        return visitedOrder;
     }
 
     /**
@@ -141,9 +148,6 @@ public class GraphAlgorithms {
      * @return 返回遍历节点的 ID 顺序列表
      */
     public static List<String> breadthFirstSearch(Graph graph, String startNodeId) {
-        // 获取邻接表
-        Map<String, List<AdjNode>> adjacencyList = buildAdjacencyList(graph);
-
         List<String> visitedOrder = new ArrayList<>();
         Set<String> visited = new HashSet<>();
         Queue<String> queue = new LinkedList<>();
@@ -156,7 +160,7 @@ public class GraphAlgorithms {
             String current = queue.poll();
             visitedOrder.add(current);
 
-            List<AdjNode> neighbors = adjacencyList.get(current);
+            List<AdjNode> neighbors = graph.getNeighbors(current);
             if (neighbors != null) {
                 for (AdjNode adj : neighbors) {
                     String neighborId = adj.getNodeId();
@@ -178,22 +182,36 @@ public class GraphAlgorithms {
     /**
      * 邻接表中用于存储 (目标节点ID, 权重) 的小结构。
      * 也可以直接用 Map<String,Double>，这里显式用类便于扩展。
+     * 由 Graph 维护的邻接记录会关联对应的 Edge，权重随 Edge 实时读取。
      */
     public static class AdjNode {
         private String nodeId;
         private double weight;
+        private Edge edge;
 
         public AdjNode(String nodeId, double weight) {
             this.nodeId = nodeId;
             this.weight = weight;
         }
 
+        public AdjNode(String nodeId, Edge edge) {
+            this.nodeId = nodeId;
+            this.edge = edge;
+        }
+
         public String getNodeId() {
             return nodeId;
         }
 
         public double getWeight() {
-            return weight;
+            return edge != null ? edge.getWeight() : weight;
+        }
+
+        /**
+         * 获取对应的边对象，若为独立构建的邻接记录则返回 null
+         */
+        public Edge getEdge() {
+            return edge;
         }
     }
 
@@ -277,8 +295,6 @@ public class GraphAlgorithms {
             return new ShortestPathResult(Collections.singletonList(startNodeId), 0.0);
         }
 
-        // 先构建邻接表
-        Map<String, List<AdjNode>> adjacencyList = buildAdjacencyList(graph);
         // 用来记录路径
         Map<String, String> parent = new HashMap<>();
         // 用来标记已访问
@@ -296,7 +312,7 @@ public class GraphAlgorithms {
                 found = true;
                 break;
             }
-            List<AdjNode> neighbors = adjacencyList.get(current);
+            List<AdjNode> neighbors = graph.getNeighbors(current);
             if (neighbors != null) {
                 for (AdjNode adj : neighbors) {
                     String neighId = adj.getNodeId();
@@ -331,46 +347,41 @@ public class GraphAlgorithms {
      * 使用 Dijkstra 求 startNodeId 到 endNodeId 的最短路径
      */
     public static ShortestPathResult findShortestPathDijkstra(Graph graph, String startNodeId, String endNodeId) {
-        // 构建邻接表
-        Map<String, List<AdjNode>> adjacencyList = buildAdjacencyList(graph);
-
-        // 距离表 & 前驱记录
+        // 距离表 & 前驱记录（按需登记，未出现的节点视为距离无穷大、无前驱）
         Map<String, Double> dist = new HashMap<>();
         Map<String, String> parent = new HashMap<>();
-
-        // 初始化 dist
-        for (Node node : graph.getNodes()) {
-            dist.put(node.getId(), Double.POSITIVE_INFINITY);
-            parent.put(node.getId(), null);
-        }
         dist.put(startNodeId, 0.0);
 
-        // 优先队列：以当前最小距离为优先级
-        PriorityQueue<String> pq = new PriorityQueue<>((a,b) -> dist.get(a).compareTo(dist.get(b)));
-        pq.offer(startNodeId);
+        // 优先队列：以入队时的距离为优先级，采用“延迟删除”，
+        // 距离变小时直接入队新记录，出队时跳过已过期的旧记录，避免 O(n) 的 pq.remove
+        PriorityQueue<QueueEntry> pq = new PriorityQueue<>();
+        pq.offer(new QueueEntry(startNodeId, 0.0));
 
         while (!pq.isEmpty()) {
-            String current = pq.poll();
+            QueueEntry entry = pq.poll();
+            String current = entry.nodeId;
+            if (entry.distance > dist.get(current)) {
+                continue;  // 过期记录
+            }
             if (current.equals(endNodeId)) {
                 break;
             }
-            List<AdjNode> neighbors = adjacencyList.get(current);
+            List<AdjNode> neighbors = graph.getNeighbors(current);
             if (neighbors != null) {
                 for (AdjNode adj : neighbors) {
                     String neighId = adj.getNodeId();
-                    double newDist = dist.get(current) + adj.getWeight();
-                    if (newDist < dist.get(neighId)) {
+                    double newDist = entry.distance + adj.getWeight();
+                    if (newDist < dist.getOrDefault(neighId, Double.POSITIVE_INFINITY)) {
                         dist.put(neighId, newDist);
                         parent.put(neighId, current);
                         // 更新优先队列
-                        pq.remove(neighId);
-                        pq.offer(neighId);
+                        pq.offer(new QueueEntry(neighId, newDist));
                     }
                 }
             }
         }
 
-        double finalDist = dist.get(endNodeId);
+        double finalDist = dist.getOrDefault(endNodeId, Double.POSITIVE_INFINITY);
         if (finalDist == Double.POSITIVE_INFINITY) {
             // 不可达
             return null;
@@ -387,6 +398,24 @@ public class GraphAlgorithms {
 
         return new ShortestPathResult(path, finalDist);
     }
+    /**
+     * Dijkstra 优先队列中的记录：(节点ID, 入队时的距离)
+     */
+    private static class QueueEntry implements Comparable<QueueEntry> {
+        private final String nodeId;
+        private final double distance;
+
+        QueueEntry(String nodeId, double distance) {
+            this.nodeId = nodeId;
+            this.distance = distance;
+        }
+
+        @Override
+        public int compareTo(QueueEntry other) {
+            return Double.compare(distance, other.distance);
+        }
+    }
+
     public static class FloydResult {
         // 距离矩阵
         public double[][] dist;
@@ -397,49 +426,28 @@ public class GraphAlgorithms {
     }
 
     /**
-     * 预处理 Floyd-Warshall，生成所有节点对之间的最短路径信息
+     * 预处理 Floyd-Warshall，生成所有节点对之间的最短路径信息。
+     * 基于图的 CSR 快照，使用分块并行的 BlockedFloydWarshall 计算。
      */
     public static FloydResult floydWarshall(Graph graph) {
-        // 获取节点列表及邻接矩阵
-        AdjacencyMatrix adjacency = buildAdjacencyMatrix(graph);
-        List<Node> nodeList = adjacency.getNodeOrder();
-        List<List<Double>> mat = adjacency.getMatrix();
-        int n = nodeList.size();
-
-        double[][] dist = new double[n][n];
-        int[][] next = new int[n][n];
-
-        // 初始化 dist 与 next
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                dist[i][j] = mat.get(i).get(j);
-                if (i != j && dist[i][j] != Double.POSITIVE_INFINITY) {
-                    next[i][j] = j;
-                } else {
-                    next[i][j] = -1;
-                }
-            }
-        }
-
-        // 核心三重循环
-        for (int k = 0; k < n; k++) {
-            for (int i = 0; i < n; i++) {
-                for (int j = 0; j < n; j++) {
-                    if (dist[i][k] + dist[k][j] < dist[i][j]) {
-                        dist[i][j] = dist[i][k] + dist[k][j];
-                        next[i][j] = next[i][k];
-                    }
-                }
-            }
-        }
+        return floydWarshall(graph.freeze());
+    }
+    /**
+     * 为图建立连通分量索引并挂到图上：之后的加删结点与边都会增量更新索引，
+     * 可随时以 sameComponent / getComponentCount 判断网络是否被分割，无需再逐点运行 BFS。
+     */
+    public static ConnectivityIndex connectivityIndex(Graph graph) {
+        return ConnectivityIndex.attach(graph);
+    }
 
-        // 封装结果
-        FloydResult fr = new FloydResult();
-        fr.dist = dist;
-        fr.next = next;
-        fr.nodeOrder = nodeList;
-        return fr;
+    /**
+     * 在 Floyd-Warshall 结果之上构建可增量维护的全源最短路径结构。
+     * 之后边的增删或权重变化只需调用其相应方法，无需重新执行 floydWarshall。
+     */
+    public static DynamicAllPairs dynamicAllPairs(Graph graph) {
+        return new DynamicAllPairs(floydWarshall(graph), graph);
     }
+
     /**
      * 从 FloydResult 中重构 startId->endId 的最短路径
      */
@@ -473,4 +481,467 @@ public class GraphAlgorithms {
         double distance = fr.dist[startIndex][endIndex];
         return new ShortestPathResult(path, distance);
     }
+
+    // -------------------
+    // 基于 FrozenGraph（CSR 快照）的算法重载：
+    // 内部全部使用整数下标与基本类型数组，仅在入口和出口处做 ID 与下标的转换
+    // -------------------
+
+    /**
+     * 在 CSR 快照上进行深度优先搜索（DFS），访问顺序与 depthFirstSearch(Graph, String) 一致。
+     * 由 DfsEngine 以显式栈执行，不会因图过深而栈溢出。
+     * @param graph 图的快照
+     * @param startNodeId 起始节点 ID
+     * @return 返回遍历节点的 ID 顺序列表
+     */
+    public static List<String> depthFirstSearch(FrozenGraph graph, String startNodeId) {
+        List<String> visitedOrder = new ArrayList<>();
+        int start = graph.getIndex(startNodeId);
+        if (start < 0) {
+            visitedOrder.add(startNodeId);
+            return visitedOrder;
+        }
+        new DfsEngine(graph).runFrom(start, new DfsVisitor() {
+            @Override
+            public void preOrder(int v, int parent) {
+                visitedOrder.add(graph.getId(v));
+            }
+        });
+        return visitedOrder;
+    }
+
+    /**
+     * 在 CSR 快照上进行广度优先搜索（BFS），访问顺序与 breadthFirstSearch(Graph, String) 一致。
+     * @param graph 图的快照
+     * @param startNodeId 起始节点 ID
+     * @return 返回遍历节点的 ID 顺序列表
+     */
+    public static List<String> breadthFirstSearch(FrozenGraph graph, String startNodeId) {
+        List<String> visitedOrder = new ArrayList<>();
+        int start = graph.getIndex(startNodeId);
+        if (start < 0) {
+            visitedOrder.add(startNodeId);
+            return visitedOrder;
+        }
+
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        boolean[] visited = new boolean[graph.getNodeCount()];
+        int[] queue = new int[graph.getNodeCount()];  // 每个结点至多入队一次
+        int head = 0, tail = 0;
+
+        visited[start] = true;
+        queue[tail++] = start;
+        while (head < tail) {
+            int current = queue[head++];
+            visitedOrder.add(graph.getId(current));
+            for (int i = offsets[current]; i < offsets[current + 1]; i++) {
+                int neighbor = targets[i];
+                if (!visited[neighbor]) {
+                    visited[neighbor] = true;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+        return visitedOrder;
+    }
+
+    /**
+     * 在 CSR 快照上使用 BFS 求 startNodeId 到 endNodeId 的最短路径（无权图）
+     */
+    public static ShortestPathResult findShortestPathBFS(FrozenGraph graph, String startNodeId, String endNodeId) {
+        // 若两个节点相同，直接返回
+        if (startNodeId.equals(endNodeId)) {
+            return new ShortestPathResult(Collections.singletonList(startNodeId), 0.0);
+        }
+        int start = graph.getIndex(startNodeId);
+        int end = graph.getIndex(endNodeId);
+        if (start < 0 || end < 0) {
+            return null;
+        }
+
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int n = graph.getNodeCount();
+        int[] parent = new int[n];
+        Arrays.fill(parent, -2);  // -2 表示未访问，-1 表示起点
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+
+        parent[start] = -1;
+        queue[tail++] = start;
+        while (head < tail && parent[end] == -2) {
+            int current = queue[head++];
+            for (int i = offsets[current]; i < offsets[current + 1]; i++) {
+                int neighbor = targets[i];
+                if (parent[neighbor] == -2) {
+                    parent[neighbor] = current;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+
+        if (parent[end] == -2) {
+            // 无法到达
+            return null;
+        }
+        List<String> path = rebuildIndexPath(graph, parent, end);
+        return new ShortestPathResult(path, path.size() - 1);
+    }
+
+    /**
+     * 在 CSR 快照上使用 Dijkstra 求 startNodeId 到 endNodeId 的最短路径。
+     * 基于 DijkstraEngine（索引堆 + double[] 距离）；需要反复查询时可直接复用同一个 DijkstraEngine。
+     */
+    public static ShortestPathResult findShortestPathDijkstra(FrozenGraph graph, String startNodeId, String endNodeId) {
+        if (startNodeId.equals(endNodeId)) {
+            return new ShortestPathResult(Collections.singletonList(startNodeId), 0.0);
+        }
+        int start = graph.getIndex(startNodeId);
+        int end = graph.getIndex(endNodeId);
+        if (start < 0 || end < 0) {
+            return null;
+        }
+        DijkstraEngine engine = new DijkstraEngine(graph);
+        engine.run(start, end);
+        return engine.toResult(end);
+    }
+
+    /**
+     * 计算 sourceId 的完整最短路径树（非负权），之后到任意终点的路径都可通过 pathTo 直接回溯
+     * @return 若起点不存在则返回 null
+     */
+    public static ShortestPathTree shortestPathTree(Graph graph, String sourceId) {
+        return shortestPathTree(graph.freeze(), sourceId);
+    }
+
+    /**
+     * 在 CSR 快照上计算 sourceId 的完整最短路径树
+     */
+    public static ShortestPathTree shortestPathTree(FrozenGraph graph, String sourceId) {
+        int source = graph.getIndex(sourceId);
+        if (source < 0) {
+            return null;
+        }
+        return ShortestPathTree.build(graph, source);
+    }
+
+    /**
+     * 使用 Δ-stepping 在公共线程池上并行计算 sourceId 的完整最短路径树（非负权），距离与 Dijkstra 完全一致。
+     * 边数较少或只有单个工作线程时并行没有收益，直接使用顺序 Dijkstra。
+     * @return 若起点不存在则返回 null
+     */
+    public static ShortestPathTree shortestPathTreeParallel(FrozenGraph graph, String sourceId) {
+        int source = graph.getIndex(sourceId);
+        if (source < 0) {
+            return null;
+        }
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        if (graph.getEdgeCount() < DELTA_STEPPING_MIN_EDGES || pool.getParallelism() <= 1) {
+            return ShortestPathTree.build(graph, source);
+        }
+        return DeltaStepping.run(graph, source, pool);
+    }
+
+    /**
+     * 使用 Δ-stepping 并行求 startNodeId 到 endNodeId 的最短路径（非负权），面向百万级边的大图
+     */
+    public static ShortestPathResult findShortestPathDeltaStepping(Graph graph, String startNodeId, String endNodeId) {
+        ShortestPathTree tree = shortestPathTreeParallel(graph.freeze(), startNodeId);
+        return tree == null ? null : tree.pathTo(endNodeId);
+    }
+
+    /**
+     * 计算 sourceId 的最短路径树并挂到图上：之后的加删边与 Edge.setWeight 都会触发增量修复，无需重新运行 Dijkstra。
+     * 不再需要时调用 detach() 注销。
+     * @return 若起点不存在则返回 null
+     */
+    public static DynamicShortestPathTree dynamicShortestPathTree(Graph graph, String sourceId) {
+        return DynamicShortestPathTree.attach(graph, sourceId);
+    }
+
+    /**
+     * 使用 Yen 算法求 startNodeId 到 endNodeId 的前 k 条无环路径（非负权），各偏离路径在公共线程池上并行计算
+     * @return 按总权重从小到大排列的路径；结点不存在时返回 null，不可达时返回空列表
+     */
+    public static List<ShortestPathResult> kShortestPaths(Graph graph, String startNodeId, String endNodeId, int k) {
+        return kShortestPaths(graph.freeze(), startNodeId, endNodeId, k);
+    }
+
+    /**
+     * 在 CSR 快照上使用 Yen 算法求前 k 条无环路径
+     */
+    public static List<ShortestPathResult> kShortestPaths(FrozenGraph graph, String startNodeId, String endNodeId, int k) {
+        return new KShortestPaths(graph, ForkJoinPool.commonPool()).query(startNodeId, endNodeId, k);
+    }
+
+    /**
+     * 使用双向 Dijkstra 求 startNodeId 到 endNodeId 的最短路径（非负权）。
+     * 基于图的 CSR 快照，图未修改时快照会被复用。
+     */
+    public static ShortestPathResult findShortestPathBidirectional(Graph graph, String startNodeId, String endNodeId) {
+        return findShortestPathBidirectional(graph.freeze(), startNodeId, endNodeId);
+    }
+
+    /**
+     * 在 CSR 快照上使用双向 Dijkstra 求最短路径：正向从起点、反向从终点同时搜索，两侧相遇后停止。
+     * 需要反复查询时可直接复用同一个 BidirectionalDijkstra 实例。
+     */
+    public static ShortestPathResult findShortestPathBidirectional(FrozenGraph graph, String startNodeId, String endNodeId) {
+        return new BidirectionalDijkstra(graph).query(startNodeId, endNodeId);
+    }
+
+    /**
+     * 使用 A* 求 startNodeId 到 endNodeId 的最短路径，以结点坐标的欧氏距离作为启发。
+     * 换算系数取 AStarHeuristic.maxAdmissibleScale，保证启发可采纳，结果与 Dijkstra 相同；
+     * 该系数随快照缓存，图未修改时的重复查询不再扫描全部边。
+     */
+    public static ShortestPathResult findShortestPathAStar(Graph graph, String startNodeId, String endNodeId) {
+        FrozenGraph frozen = graph.freeze();
+        return findShortestPathAStar(frozen, startNodeId, endNodeId,
+                AStarHeuristic.euclidean(frozen, frozen.getAdmissibleScale()));
+    }
+
+    /**
+     * 使用 A* 求最短路径，以 scale 乘以结点坐标的欧氏距离作为启发。
+     * 当坐标来自真实地理位置、边权与光纤距离成正比时，可直接传入两者的换算系数。
+     * @param scale 坐标距离到边权的换算系数，过大会使启发不可采纳，返回的路径可能不是最短的
+     */
+    public static ShortestPathResult findShortestPathAStar(Graph graph, String startNodeId, String endNodeId, double scale) {
+        FrozenGraph frozen = graph.freeze();
+        return findShortestPathAStar(frozen, startNodeId, endNodeId, AStarHeuristic.euclidean(frozen, scale));
+    }
+
+    /**
+     * 在 CSR 快照上使用 A* 求最短路径，启发函数可自定义。
+     * 需要反复查询时可直接复用同一个 AStarSearch 实例。
+     */
+    public static ShortestPathResult findShortestPathAStar(FrozenGraph graph, String startNodeId, String endNodeId,
+                                                           AStarHeuristic heuristic) {
+        return new AStarSearch(graph, heuristic).query(startNodeId, endNodeId);
+    }
+
+    /**
+     * 为图的当前快照构建收缩层次索引（一次性预处理），之后的点对点查询只需搜索很小的上行子图。
+     * 图被修改后索引即过期，可通过 ch.getGraph() == graph.freeze() 判断是否需要重建。
+     */
+    public static ContractionHierarchy buildContractionHierarchy(Graph graph) {
+        return ContractionHierarchy.build(graph.freeze());
+    }
+
+    /**
+     * 使用收缩层次索引求 startNodeId 到 endNodeId 的最短路径，返回展开捷径后的完整节点路径
+     */
+    public static ShortestPathResult findShortestPathCH(ContractionHierarchy ch, String startNodeId, String endNodeId) {
+        return ch.query(startNodeId, endNodeId);
+    }
+
+    /**
+     * 为图的当前快照构建 ALT 地标索引，地标距离表在公共线程池上并行计算。
+     * 适用于结点坐标与边权无关（如按时延加权的覆盖网络）、欧氏启发失效的场景。
+     * @param landmarkCount 地标数量，一般取 8~16
+     */
+    public static LandmarkIndex buildLandmarkIndex(Graph graph, int landmarkCount) {
+        return LandmarkIndex.build(graph.freeze(), landmarkCount, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 使用 ALT 索引作为 A* 的启发函数求 startNodeId 到 endNodeId 的最短路径
+     */
+    public static ShortestPathResult findShortestPathALT(LandmarkIndex index, String startNodeId, String endNodeId) {
+        return findShortestPathAStar(index.getGraph(), startNodeId, endNodeId, index);
+    }
+
+    /**
+     * 在 CSR 快照上以方向优化的并行 BFS 计算 startNodeId 到各结点的跳数，在公共线程池上执行。
+     * 适用于大规模图上的跳数可达性分析；只关心访问顺序时请使用 breadthFirstSearch。
+     * @return 按快照下标排列的跳数数组，不可达为 -1；起点不存在时返回 null
+     */
+    public static int[] bfsLevels(FrozenGraph graph, String startNodeId) {
+        return bfsLevels(graph, startNodeId, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 在指定线程池上执行方向优化的并行 BFS，返回按快照下标排列的跳数数组
+     */
+    public static int[] bfsLevels(FrozenGraph graph, String startNodeId, ForkJoinPool pool) {
+        int start = graph.getIndex(startNodeId);
+        if (start < 0) {
+            return null;
+        }
+        ParallelBfs bfs = new ParallelBfs(graph, pool);
+        bfs.run(start);
+        return bfs.getLevels();
+    }
+
+    /**
+     * 计算 startNodeId 到各结点的跳数，以结点 ID 为键，不包含不可达结点
+     */
+    public static Map<String, Integer> bfsLevels(Graph graph, String startNodeId) {
+        FrozenGraph frozen = graph.freeze();
+        int[] levels = bfsLevels(frozen, startNodeId);
+        if (levels == null) {
+            return null;
+        }
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int v = 0; v < levels.length; v++) {
+            if (levels[v] >= 0) {
+                result.put(frozen.getId(v), levels[v]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 批量计算多个源点到全部结点的跳数：每 64 个源点共用一次位并行 BFS，各批在公共线程池上并行执行。
+     * @param sourceIds 源点 ID 列表，结果矩阵的行与其一一对应
+     * @return 跳数矩阵，任一源点不存在时返回 null
+     */
+    public static HopMatrix multiSourceBfs(Graph graph, List<String> sourceIds) {
+        return multiSourceBfs(graph.freeze(), sourceIds);
+    }
+
+    /**
+     * 在 CSR 快照上批量计算多个源点到全部结点的跳数
+     */
+    public static HopMatrix multiSourceBfs(FrozenGraph graph, List<String> sourceIds) {
+        int[] sources = new int[sourceIds.size()];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = graph.getIndex(sourceIds.get(i));
+            if (sources[i] < 0) {
+                return null;
+            }
+        }
+        return MultiSourceBfs.run(graph, sources, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 计算有向图的强连通分量及缩点图（非递归 Tarjan，线性时间）。无向边视为双向连通。
+     */
+    public static StronglyConnectedComponents stronglyConnectedComponents(Graph graph) {
+        return StronglyConnectedComponents.compute(graph.freeze());
+    }
+
+    /**
+     * 在 CSR 快照上计算强连通分量及缩点图
+     */
+    public static StronglyConnectedComponents stronglyConnectedComponents(FrozenGraph graph) {
+        return StronglyConnectedComponents.compute(graph);
+    }
+
+    /**
+     * 单点故障分析：求桥（关键链路）与割点（关键设备），基于迭代式 low-link DFS，线性时间。
+     * 边的方向被忽略，即按无向连通性判断删除某条边或某个结点后网络是否被分割。
+     */
+    public static CriticalElements findCriticalElements(Graph graph) {
+        return CriticalElements.compute(graph.freeze());
+    }
+
+    /**
+     * 在 CSR 快照上求桥与割点
+     */
+    public static CriticalElements findCriticalElements(FrozenGraph graph) {
+        return CriticalElements.compute(graph);
+    }
+
+    /**
+     * 计算最小生成树（图不连通时为最小生成森林），边的方向被忽略，用于求总成本最低的骨干布线。
+     * 大图在公共线程池上使用并行 Borůvka，小图使用 Kruskal，两者选出的边相同。
+     * @return 选中的边
+     */
+    public static List<Edge> minimumSpanningTree(Graph graph) {
+        return minimumSpanningTree(graph.freeze());
+    }
+
+    /**
+     * 在 CSR 快照上计算最小生成树 / 森林
+     */
+    public static List<Edge> minimumSpanningTree(FrozenGraph graph) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        if (graph.getEdgeCount() < BORUVKA_MIN_EDGES || pool.getParallelism() <= 1) {
+            return MinimumSpanningForest.kruskal(graph);
+        }
+        return MinimumSpanningForest.boruvka(graph, pool);
+    }
+
+    /**
+     * 以边权重为链路容量，计算 sourceId 到 sinkId 的最大流与最小割（FIFO push-relabel，带全局重标号与间隙启发）。
+     * 有向边只允许从起点流向终点，无向边的容量由两个方向共享。
+     * @return 若源点或汇点不存在则返回 null
+     * @throws IllegalArgumentException 源点与汇点相同或存在负权边
+     */
+    public static MaxFlow maxFlow(Graph graph, String sourceId, String sinkId) {
+        return maxFlow(graph.freeze(), sourceId, sinkId);
+    }
+
+    /**
+     * 在 CSR 快照上计算最大流与最小割
+     */
+    public static MaxFlow maxFlow(FrozenGraph graph, String sourceId, String sinkId) {
+        int source = graph.getIndex(sourceId);
+        int sink = graph.getIndex(sinkId);
+        if (source < 0 || sink < 0) {
+            return null;
+        }
+        return MaxFlow.compute(graph, source, sink);
+    }
+
+    /**
+     * 在 CSR 快照上预处理 Floyd-Warshall。
+     * 平行边取较小权重，自环不会覆盖对角线上的 0。
+     */
+    public static FloydResult floydWarshall(FrozenGraph graph) {
+        return floydWarshallTable(graph, false).toFloydResult();
+    }
+
+    /**
+     * 在 CSR 快照上以分块并行方式计算 Floyd-Warshall，结果保存在一维平铺数组中。
+     * 结点较多时应直接使用该方法的返回值，避免转换为 FloydResult 的二维数组带来的额外内存。
+     * @param graph 图的快照
+     * @param singlePrecision 是否使用 float 存储距离（内存减半）
+     * @return 全源最短路径表
+     */
+    public static AllPairsTable floydWarshallTable(FrozenGraph graph, boolean singlePrecision) {
+        return BlockedFloydWarshall.compute(graph, singlePrecision,
+                BlockedFloydWarshall.DEFAULT_BLOCK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 使用 Johnson 算法计算全源最短路径，返回与 floydWarshall 相同形式的结果。
+     * 适合平均度数较小的稀疏图；允许负权边（会先用 Bellman-Ford 重新赋权）。
+     * @return 若存在负权环则返回 null
+     */
+    public static FloydResult johnson(Graph graph) {
+        return johnson(graph.freeze());
+    }
+
+    /**
+     * 在 CSR 快照上使用 Johnson 算法计算全源最短路径
+     * @return 若存在负权环则返回 null
+     */
+    public static FloydResult johnson(FrozenGraph graph) {
+        AllPairsTable table = johnsonTable(graph);
+        return table == null ? null : table.toFloydResult();
+    }
+
+    /**
+     * 在 CSR 快照上使用 Johnson 算法计算全源最短路径，结果保存在一维平铺数组中。
+     * 每个起点的 Dijkstra 在公共线程池上并行执行。
+     * @return 全源最短路径表；若存在负权环则返回 null
+     */
+    public static AllPairsTable johnsonTable(FrozenGraph graph) {
+        return JohnsonAllPairs.compute(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 根据前驱下标数组回溯出从起点到 end 的节点 ID 路径（起点的前驱为 -1）
+     */
+    static List<String> rebuildIndexPath(FrozenGraph graph, int[] parent, int end) {
+        List<String> path = new ArrayList<>();
+        for (int node = end; node >= 0; node = parent[node]) {
+            path.add(graph.getId(node));
+        }
+        Collections.reverse(path);
+        return path;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+/**
+ * GraphListener.java
+ *
+ * 图的修改监听接口：通过 Graph.addGraphListener 注册后，图的每次成功修改都会在修改完成后通知监听者。
+ * 删除结点时，会先对其每条关联边发出 edgeRemoved，再发出 nodeRemoved。
+ * 所有方法均有空的默认实现，只需覆盖关心的事件。
+ * 回调发生时修改已经生效，因此实现不得抛出异常（否则调用方会看到一个实际已成功的修改失败，
+ * 其后的监听者也收不到通知）；无法增量处理的修改应将自身标记为失效，留待下次查询时重建。
+ */
+
+public interface GraphListener {
+
+    /**
+     * 结点已加入图
+     */
+    default void nodeAdded(Node node) {
+    }
+
+    /**
+     * 结点已从图中删除（其关联边此前已逐条通知删除）
+     */
+    default void nodeRemoved(Node node) {
+    }
+
+    /**
+     * 边已加入图
+     */
+    default void edgeAdded(Edge edge) {
+    }
+
+    /**
+     * 边已从图中删除
+     */
+    default void edgeRemoved(Edge edge) {
+    }
+
+    /**
+     * 图中某条边的权重已通过 Edge.setWeight 修改
+     * @param edge      被修改的边，getWeight() 返回新权重
+     * @param oldWeight 修改前的权重
+     */
+    default void edgeWeightChanged(Edge edge, double oldWeight) {
+    }
+}
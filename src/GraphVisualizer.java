@@ -245,6 +245,15 @@ public class GraphVisualizer extends JPanel {
         repaint();
     }
 
+    /**
+     * 方法功能：直接设置要高亮显示的结点与边（不要求构成路径），如单点故障分析得到的割点与桥
+     */
+    public void setHighlight(List<String> nodeIds, List<Edge> edges) {
+        this.highlightNodePath = nodeIds;
+        this.highlightEdgePath = edges;
+        repaint();
+    }
+
     /**
      * 方法功能：重写 paintComponent 方法，执行绘制操作
      */
@@ -0,0 +1,83 @@
+/**
+ * HopMatrix.java
+ *
+ * 多源 BFS 的结果：k 个源点到全部 n 个结点的跳数，按行优先平铺在长度为 k*n 的 short 数组中，
+ * 第 r 行对应第 r 个源点，-1 表示不可达。结点下标与 ID 的对应关系来自生成该表的 FrozenGraph 快照。
+ * 为节省空间，跳数不小于 SATURATED 时一律记为 SATURATED（饱和），表示“至少这么远”。
+ */
+
+public class HopMatrix {
+
+    /** 不可达 */
+    public static final short UNREACHABLE = -1;
+
+    /** 饱和值：实际跳数不小于该值 */
+    public static final short SATURATED = Short.MAX_VALUE;
+
+    private final FrozenGraph graph;
+    private final int[] sources;
+    private final short[] hops;
+
+    HopMatrix(FrozenGraph graph, int[] sources, short[] hops) {
+        this.graph = graph;
+        this.sources = sources;
+        this.hops = hops;
+    }
+
+    /**
+     * 获取生成该表的图快照
+     */
+    public FrozenGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * 获取源点数量（行数）
+     */
+    public int getSourceCount() {
+        return sources.length;
+    }
+
+    /**
+     * 获取第 row 行对应的源点下标
+     */
+    public int getSource(int row) {
+        return sources[row];
+    }
+
+    /**
+     * 获取第 row 个源点到结点 v 的跳数，不可达为 -1，跳数过大时为 SATURATED
+     */
+    public int getHops(int row, int v) {
+        return hops[row * graph.getNodeCount() + v];
+    }
+
+    /**
+     * 按结点 ID 查询跳数；sourceId 不在源点列表中或 targetId 不存在时返回 -1
+     */
+    public int getHops(String sourceId, String targetId) {
+        int source = graph.getIndex(sourceId);
+        int target = graph.getIndex(targetId);
+        if (source < 0 || target < 0) {
+            return -1;
+        }
+        for (int row = 0; row < sources.length; row++) {
+            if (sources[row] == source) {
+                return getHops(row, target);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 获取第 row 个源点到全部结点的跳数副本
+     */
+    public int[] getRow(int row) {
+        int n = graph.getNodeCount();
+        int[] copy = new int[n];
+        for (int v = 0; v < n; v++) {
+            copy[v] = hops[row * n + v];
+        }
+        return copy;
+    }
+}
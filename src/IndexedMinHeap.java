@@ -0,0 +1,163 @@
+/**
+ * IndexedMinHeap.java
+ *
+ * 以整数下标（0..capacity-1）为元素、double 为键的索引二叉最小堆。
+ * 主要特点：
+ * 1. 额外维护“元素 -> 堆中位置”的数组，支持 O(log n) 的降键（decrease-key）与任意改键。
+ * 2. 键与元素均为基本类型，入堆、出堆都不产生装箱对象。
+ * 3. clear() 只重置仍在堆中的元素，可在多次查询之间重复使用同一个实例。
+ */
+
+import java.util.Arrays;
+
+public class IndexedMinHeap {
+
+    private final int[] heap;      // 堆数组，存放元素下标
+    private final int[] position;  // 元素在堆数组中的位置，-1 表示不在堆中
+    private final double[] keys;   // 元素当前的键
+    private int size;
+
+    /**
+     * 构造方法
+     * @param capacity 元素下标的上限（不含）
+     */
+    public IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.keys = new double[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    /**
+     * 堆是否为空
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 堆中元素个数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 元素是否在堆中
+     */
+    public boolean contains(int item) {
+        return position[item] >= 0;
+    }
+
+    /**
+     * 插入元素；若元素已在堆中且新键更小，则执行降键
+     * @param item 元素下标
+     * @param key  键值
+     */
+    public void insertOrDecrease(int item, double key) {
+        int pos = position[item];
+        if (pos < 0) {
+            pos = size++;
+            keys[item] = key;
+            heap[pos] = item;
+            position[item] = pos;
+            siftUp(pos);
+        } else if (key < keys[item]) {
+            keys[item] = key;
+            siftUp(pos);
+        }
+    }
+
+    /**
+     * 插入元素，或将已在堆中的元素的键修改为任意新值（可增可减）
+     * @param item 元素下标
+     * @param key  新的键值
+     */
+    public void insertOrUpdate(int item, double key) {
+        int pos = position[item];
+        if (pos < 0 || key < keys[item]) {
+            insertOrDecrease(item, key);
+        } else if (key > keys[item]) {
+            keys[item] = key;
+            siftDown(pos);
+        }
+    }
+
+    /**
+     * 查看堆顶元素（不移除）
+     */
+    public int peek() {
+        return heap[0];
+    }
+
+    /**
+     * 查看堆顶元素的键
+     */
+    public double peekKey() {
+        return keys[heap[0]];
+    }
+
+    /**
+     * 弹出并返回堆顶元素
+     */
+    public int poll() {
+        int top = heap[0];
+        position[top] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * 清空堆，仅重置仍在堆中的元素
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int pos) {
+        int item = heap[pos];
+        double key = keys[item];
+        while (pos > 0) {
+            int parentPos = (pos - 1) >>> 1;
+            int parentItem = heap[parentPos];
+            if (keys[parentItem] <= key) {
+                break;
+            }
+            heap[pos] = parentItem;
+            position[parentItem] = pos;
+            pos = parentPos;
+        }
+        heap[pos] = item;
+        position[item] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int item = heap[pos];
+        double key = keys[item];
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            int right = child + 1;
+            if (right < size && keys[heap[right]] < keys[heap[child]]) {
+                child = right;
+            }
+            if (key <= keys[heap[child]]) {
+                break;
+            }
+            heap[pos] = heap[child];
+            position[heap[pos]] = pos;
+            pos = child;
+        }
+        heap[pos] = item;
+        position[item] = pos;
+    }
+}
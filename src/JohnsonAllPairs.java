@@ -0,0 +1,130 @@
+/**
+ * JohnsonAllPairs.java
+ *
+ * Johnson 算法：适用于稀疏图的全源最短路径。
+ * 算法说明：
+ * 1. 若存在负权边，先以“虚拟源点到所有结点距离为 0”的方式运行 Bellman-Ford 求势函数 h，
+ *    再将边权改写为 w'(u,v) = w(u,v) + h(u) - h(v)，使所有边权非负；无负权边时跳过这一步。
+ * 2. 以每个结点为起点各运行一次 Dijkstra（DijkstraEngine），各起点之间互不依赖，
+ *    起点按固定大小分块在 ForkJoinPool 上并行执行，每个块创建一个引擎实例，供块内各起点复用。
+ * 3. 由每棵最短路径树按出堆顺序推出“第一跳”，填入与 Floyd-Warshall 相同的下一跳表。
+ *
+ * 总代价为 O(V·(V+E)·log V)，稀疏图上远小于 Floyd-Warshall 的 O(V³)。
+ */
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+public final class JohnsonAllPairs {
+
+    /** 每个并行块处理的起点数 */
+    private static final int GRAIN = 8;
+
+    private JohnsonAllPairs() {
+    }
+
+    /**
+     * 计算全源最短路径
+     * @param graph 图的快照
+     * @param pool  执行各起点 Dijkstra 的线程池
+     * @return 全源最短路径表；若图中存在负权环则返回 null
+     */
+    public static AllPairsTable compute(FrozenGraph graph, ForkJoinPool pool) {
+        int n = graph.getNodeCount();
+        double[] potential = computePotential(graph);
+        if (potential == null) {
+            return null;  // 存在负权环，最短路径无定义
+        }
+        FrozenGraph searchGraph = potential.length == 0 ? graph : reweight(graph, potential);
+
+        double[] dist = new double[n * n];
+        int[] next = new int[n * n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(next, -1);
+
+        int chunks = (n + GRAIN - 1) / GRAIN;
+        ParallelRange.forEach(pool, 0, chunks, 1, chunk -> {
+            DijkstraEngine engine = new DijkstraEngine(searchGraph);
+            int[] firstHop = new int[n];
+            int end = Math.min(n, (chunk + 1) * GRAIN);
+            for (int source = chunk * GRAIN; source < end; source++) {
+                engine.run(source, -1);
+
+                int row = source * n;
+                // 按出堆顺序处理，保证前驱的第一跳已经算好
+                for (int i = 0; i < engine.getSettledCount(); i++) {
+                    int v = engine.getSettled(i);
+                    int p = engine.getParent(v);
+                    if (p < 0) {
+                        dist[row + v] = 0.0;
+                        continue;
+                    }
+                    firstHop[v] = (p == source) ? v : firstHop[p];
+                    next[row + v] = firstHop[v];
+                    double d = engine.getDistance(v);
+                    dist[row + v] = potential.length == 0 ? d : d - potential[source] + potential[v];
+                }
+            }
+        });
+        return new AllPairsTable(graph, dist, null, next);
+    }
+
+    /**
+     * 计算 Johnson 重新赋权所需的势函数
+     * @return 无负权边时返回空数组；存在负权环时返回 null
+     */
+    private static double[] computePotential(FrozenGraph graph) {
+        double[] weights = graph.getWeights();
+        boolean hasNegative = false;
+        for (double w : weights) {
+            if (w < 0) {
+                hasNegative = true;
+                break;
+            }
+        }
+        if (!hasNegative) {
+            return new double[0];
+        }
+
+        // Bellman-Ford：虚拟源点到每个结点有一条权重为 0 的边，因此初始距离全部为 0
+        int n = graph.getNodeCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] h = new double[n];
+        for (int round = 0; round <= n; round++) {
+            boolean changed = false;
+            for (int u = 0; u < n; u++) {
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    double candidate = h[u] + weights[i];
+                    if (candidate < h[targets[i]]) {
+                        h[targets[i]] = candidate;
+                        changed = true;
+                    }
+                }
+            }
+            if (!changed) {
+                return h;
+            }
+        }
+        // 第 n+1 轮仍有松弛，说明存在负权环
+        return null;
+    }
+
+    /**
+     * 生成重新赋权后的快照：w'(u,v) = w(u,v) + h(u) - h(v)
+     */
+    private static FrozenGraph reweight(FrozenGraph graph, double[] h) {
+        int n = graph.getNodeCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        double[] reweighted = new double[weights.length];
+        for (int u = 0; u < n; u++) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                // 浮点误差可能产生极小的负数，截断为 0 以满足 Dijkstra 的前提
+                reweighted[i] = Math.max(0.0, weights[i] + h[u] - h[targets[i]]);
+            }
+        }
+        return graph.withWeights(reweighted);
+    }
+}
@@ -0,0 +1,229 @@
+/**
+ * KShortestPaths.java
+ *
+ * 基于 FrozenGraph（CSR 快照）的 Yen 算法：按总权重从小到大求两点间前 k 条无环路径，用于故障切换规划。
+ * 算法说明：
+ * 1. 第一条路径为普通最短路径。
+ * 2. 求第 k 条时，以上一条路径上的每个结点为偏离点（spur node）：
+ *    偏离点之前的部分为根路径；屏蔽根路径上的其他结点，并屏蔽所有已接受路径中与根路径前缀相同者在偏离点上使用的边，
+ *    再求偏离点到终点的最短路径，与根路径拼接成候选路径。
+ * 3. 所有候选路径放入按总权重排序的候选堆，取出最小且未出现过的一条作为下一条路径。
+ *
+ * 屏蔽通过 DijkstraEngine 的结点 / 槽位屏蔽数组实现，不复制图；同一轮中各偏离点的搜索相互独立，
+ * 在 ForkJoinPool 上并行执行。引擎与屏蔽数组由每次查询自有的空闲队列借出和归还，
+ * 数量不超过同时执行的任务数，查询结束后随队列一起释放。
+ * 路径以经过的边（CSR 槽位）区分，因此两结点间的平行边会产生结点序列相同但权重不同的路径。要求边权非负。
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+
+public class KShortestPaths {
+
+    private final FrozenGraph graph;
+    private final ForkJoinPool pool;
+
+    /**
+     * 构造方法
+     * @param graph 图的快照
+     * @param pool  并行计算偏离路径的线程池
+     */
+    public KShortestPaths(FrozenGraph graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    /**
+     * 求 startNodeId 到 endNodeId 的前 k 条无环路径
+     * @return 按总权重从小到大排列的路径，不足 k 条时返回全部；结点不存在时返回 null，不可达时返回空列表
+     */
+    public List<GraphAlgorithms.ShortestPathResult> query(String startNodeId, String endNodeId, int k) {
+        int source = graph.getIndex(startNodeId);
+        int target = graph.getIndex(endNodeId);
+        if (source < 0 || target < 0) {
+            return null;
+        }
+        List<GraphAlgorithms.ShortestPathResult> results = new ArrayList<>();
+        if (k <= 0) {
+            return results;
+        }
+        if (source == target) {
+            results.add(new GraphAlgorithms.ShortestPathResult(Collections.singletonList(startNodeId), 0.0));
+            return results;
+        }
+
+        ConcurrentLinkedQueue<SpurWorker> idle = new ConcurrentLinkedQueue<>();
+        SpurWorker firstWorker = new SpurWorker(graph);
+        Path first = firstWorker.spur(source, target, new int[] {source}, new int[0], null);
+        if (first == null) {
+            return results;
+        }
+        idle.offer(firstWorker);
+        List<Path> accepted = new ArrayList<>();
+        accepted.add(first);
+        PriorityQueue<Path> candidates = new PriorityQueue<>();
+        Set<Path> seen = new HashSet<>();
+        seen.add(first);
+
+        while (accepted.size() < k) {
+            Path previous = accepted.get(accepted.size() - 1);
+            int spurCount = previous.nodes.length - 1;
+            Path[] found = new Path[spurCount];
+            ParallelRange.forEach(pool, 0, spurCount, 1, i -> {
+                int[] rootNodes = Arrays.copyOf(previous.nodes, i + 1);
+                int[] rootSlots = Arrays.copyOf(previous.slots, i);
+                SpurWorker worker = idle.poll();
+                if (worker == null) {
+                    worker = new SpurWorker(graph);
+                }
+                found[i] = worker.spur(previous.nodes[i], target, rootNodes, rootSlots, accepted);
+                idle.offer(worker);
+            });
+            for (Path candidate : found) {
+                if (candidate != null && seen.add(candidate)) {
+                    candidates.offer(candidate);
+                }
+            }
+            if (candidates.isEmpty()) {
+                break;
+            }
+            accepted.add(candidates.poll());
+        }
+
+        for (Path path : accepted) {
+            List<String> ids = new ArrayList<>(path.nodes.length);
+            for (int v : path.nodes) {
+                ids.add(graph.getId(v));
+            }
+            results.add(new GraphAlgorithms.ShortestPathResult(ids, path.cost));
+        }
+        return results;
+    }
+
+    /**
+     * 一次偏离搜索独占的 Dijkstra 引擎与屏蔽数组；屏蔽数组在每次搜索后只清除设置过的位置
+     */
+    private static final class SpurWorker {
+        private final FrozenGraph graph;
+        private final DijkstraEngine engine;
+        private final boolean[] removedNodes;
+        private final boolean[] removedSlots;
+
+        SpurWorker(FrozenGraph graph) {
+            this.graph = graph;
+            this.engine = new DijkstraEngine(graph);
+            this.removedNodes = new boolean[graph.getNodeCount()];
+            this.removedSlots = new boolean[graph.getTargets().length];
+        }
+
+        /**
+         * 计算以 spurNode 为偏离点的候选路径
+         * @param rootNodes 根路径上的结点（最后一个为偏离点）
+         * @param rootSlots 根路径上的边槽位
+         * @param accepted  已接受的路径，为 null 表示不屏蔽任何边
+         * @return 候选路径，偏离点无法到达终点时返回 null
+         */
+        Path spur(int spurNode, int target, int[] rootNodes, int[] rootSlots, List<Path> accepted) {
+            int depth = rootSlots.length;
+            List<Integer> blockedSlots = new ArrayList<>();
+            if (accepted != null) {
+                for (Path path : accepted) {
+                    if (path.slots.length > depth && path.hasSlotPrefix(rootSlots)) {
+                        int slot = path.slots[depth];
+                        if (!removedSlots[slot]) {
+                            removedSlots[slot] = true;
+                            blockedSlots.add(slot);
+                        }
+                    }
+                }
+            }
+            for (int i = 0; i < depth; i++) {
+                removedNodes[rootNodes[i]] = true;
+            }
+            double distance = engine.run(spurNode, target, removedNodes, removedSlots);
+            for (int i = 0; i < depth; i++) {
+                removedNodes[rootNodes[i]] = false;
+            }
+            for (int slot : blockedSlots) {
+                removedSlots[slot] = false;
+            }
+            if (distance == Double.POSITIVE_INFINITY) {
+                return null;
+            }
+
+            // 回溯偏离路径，并与根路径拼接
+            int spurLength = 0;
+            for (int v = target; v != spurNode; v = engine.getParent(v)) {
+                spurLength++;
+            }
+            int[] nodes = Arrays.copyOf(rootNodes, depth + 1 + spurLength);
+            int[] slots = Arrays.copyOf(rootSlots, depth + spurLength);
+            int position = depth + spurLength;
+            for (int v = target; v != spurNode; v = engine.getParent(v)) {
+                nodes[position] = v;
+                slots[position - 1] = engine.getParentSlot(v);
+                position--;
+            }
+            double cost = 0.0;
+            double[] weights = graph.getWeights();
+            for (int slot : slots) {
+                cost += weights[slot];
+            }
+            return new Path(nodes, slots, cost);
+        }
+    }
+
+    /**
+     * 一条路径：经过的结点、边槽位与总权重；以边槽位序列判断是否相同
+     */
+    private static final class Path implements Comparable<Path> {
+        private final int[] nodes;
+        private final int[] slots;
+        private final double cost;
+
+        Path(int[] nodes, int[] slots, double cost) {
+            this.nodes = nodes;
+            this.slots = slots;
+            this.cost = cost;
+        }
+
+        boolean hasSlotPrefix(int[] prefix) {
+            for (int i = 0; i < prefix.length; i++) {
+                if (slots[i] != prefix[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int compareTo(Path other) {
+            int c = Double.compare(cost, other.cost);
+            if (c != 0) {
+                return c;
+            }
+            c = Integer.compare(slots.length, other.slots.length);
+            for (int i = 0; c == 0 && i < slots.length; i++) {
+                c = Integer.compare(slots[i], other.slots[i]);
+            }
+            return c;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Path && Arrays.equals(slots, ((Path) o).slots);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(slots);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/**
+ * LandmarkIndex.java
+ *
+ * ALT（A*、Landmarks、Triangle inequality）索引：为 A* 提供不依赖结点坐标的启发函数。
+ * 主要内容：
+ * 1. 选取 k 个地标：每次选择距已选地标（按跳数）最远的结点，不可达的结点优先，使地标分散在图的边缘。
+ * 2. 对每个地标 L 预计算 d(L, v)（正向 Dijkstra）与 d(v, L)（在反向快照上 Dijkstra），
+ *    共 2k 次单源搜索，在 ForkJoinPool 上并行执行。
+ * 3. 由三角不等式得到下界：d(v, t) >= d(L, t) - d(L, v) 且 d(v, t) >= d(v, L) - d(t, L)，
+ *    取所有地标上的最大值作为启发值，该启发既可采纳又一致。
+ *
+ * 距离表以 k*n 的一维 double 数组保存（第 l 个地标占 [l*n, (l+1)*n)），可通过 save / load 持久化。
+ * 要求边权非负。
+ */
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+public class LandmarkIndex implements AStarHeuristic {
+
+    private static final int FORMAT_MAGIC = 0x414C5401;  // "ALT" + 版本号 1
+
+    private final FrozenGraph graph;
+    private final int[] landmarks;
+    private final double[] fromLandmark;  // fromLandmark[l*n + v] = d(L_l, v)
+    private final double[] toLandmark;    // toLandmark[l*n + v]   = d(v, L_l)
+
+    private LandmarkIndex(FrozenGraph graph, int[] landmarks, double[] fromLandmark, double[] toLandmark) {
+        this.graph = graph;
+        this.landmarks = landmarks;
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+    }
+
+    /**
+     * 选取地标并并行预计算距离表
+     * @param graph 图的快照
+     * @param k     地标数量（超过结点数时取结点数）
+     * @param pool  执行 2k 次 Dijkstra 的线程池
+     * @return ALT 索引
+     */
+    public static LandmarkIndex build(FrozenGraph graph, int k, ForkJoinPool pool) {
+        int n = graph.getNodeCount();
+        int[] landmarks = selectLandmarks(graph, Math.min(k, n));
+        int count = landmarks.length;
+        double[] from = new double[count * n];
+        double[] to = new double[count * n];
+
+        FrozenGraph reversed = graph.reverse();
+        // 任务 t < count 计算 d(L, ·)，其余计算 d(·, L)
+        ParallelRange.forEach(pool, 0, 2 * count, 1, task -> {
+            boolean forward = task < count;
+            int l = forward ? task : task - count;
+            DijkstraEngine engine = new DijkstraEngine(forward ? graph : reversed);
+            engine.run(landmarks[l], -1);
+            double[] table = forward ? from : to;
+            for (int v = 0; v < n; v++) {
+                table[l * n + v] = engine.getDistance(v);
+            }
+        });
+        return new LandmarkIndex(graph, landmarks, from, to);
+    }
+
+    /**
+     * 最远点选取：第一个地标取第 0 个结点的最远结点，此后每次取距已选地标跳数最小值最大的结点
+     */
+    private static int[] selectLandmarks(FrozenGraph graph, int k) {
+        int n = graph.getNodeCount();
+        int[] landmarks = new int[k];
+        if (k == 0) {
+            return landmarks;
+        }
+        int[] hops = new int[n];         // 到最近地标的跳数（按无向方式计），不可达为 MAX_VALUE
+        int[] level = new int[n];
+        int[] queue = new int[n];
+        Arrays.fill(hops, Integer.MAX_VALUE);
+        FrozenGraph reversed = graph.reverse();
+
+        int seed = farthest(graph, reversed, 0, level, queue, hops, false);
+        for (int l = 0; l < k; l++) {
+            int next = (l == 0) ? seed : argMax(hops);
+            landmarks[l] = next;
+            farthest(graph, reversed, next, level, queue, hops, true);
+        }
+        return landmarks;
+    }
+
+    /**
+     * 从 source 沿正反两个方向做 BFS，返回跳数最远的结点；update 为 true 时用结果更新 hops
+     */
+    private static int farthest(FrozenGraph graph, FrozenGraph reversed, int source,
+                                int[] level, int[] queue, int[] hops, boolean update) {
+        Arrays.fill(level, -1);
+        int head = 0, tail = 0;
+        level[source] = 0;
+        queue[tail++] = source;
+        int last = source;
+        FrozenGraph[] directions = {graph, reversed};
+        while (head < tail) {
+            int u = queue[head++];
+            last = u;
+            for (FrozenGraph g : directions) {
+                int[] offsets = g.getOffsets();
+                int[] targets = g.getTargets();
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int v = targets[i];
+                    if (level[v] < 0) {
+                        level[v] = level[u] + 1;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+        }
+        if (update) {
+            for (int v = 0; v < level.length; v++) {
+                if (level[v] >= 0 && level[v] < hops[v]) {
+                    hops[v] = level[v];
+                }
+            }
+        }
+        return last;
+    }
+
+    private static int argMax(int[] values) {
+        int best = 0;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] > values[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 三角不等式下界：所有地标上 d(L,t)-d(L,v) 与 d(v,L)-d(t,L) 的最大值
+     */
+    @Override
+    public double estimate(int node, int target) {
+        int n = graph.getNodeCount();
+        double best = 0.0;
+        for (int l = 0; l < landmarks.length; l++) {
+            int base = l * n;
+            double lt = fromLandmark[base + target];
+            double lv = fromLandmark[base + node];
+            if (lt != Double.POSITIVE_INFINITY && lv != Double.POSITIVE_INFINITY && lt - lv > best) {
+                best = lt - lv;
+            }
+            double vl = toLandmark[base + node];
+            double tl = toLandmark[base + target];
+            if (vl != Double.POSITIVE_INFINITY && tl != Double.POSITIVE_INFINITY && vl - tl > best) {
+                best = vl - tl;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 获取索引所对应的图快照
+     */
+    public FrozenGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * 获取地标结点下标
+     */
+    public int[] getLandmarks() {
+        return landmarks.clone();
+    }
+
+    /**
+     * 获取地标到各结点的距离表（第 l 个地标占 [l*n, (l+1)*n)），调用方不得修改
+     */
+    public double[] getFromLandmarkTable() {
+        return fromLandmark;
+    }
+
+    /**
+     * 获取各结点到地标的距离表（布局同上），调用方不得修改
+     */
+    public double[] getToLandmarkTable() {
+        return toLandmark;
+    }
+
+    /**
+     * 将索引写入输出流：结点 ID 序列（用于加载时校验）、地标下标以及两张距离表
+     */
+    public void save(DataOutputStream out) throws IOException {
+        int n = graph.getNodeCount();
+        out.writeInt(FORMAT_MAGIC);
+        out.writeInt(n);
+        for (int v = 0; v < n; v++) {
+            out.writeUTF(graph.getId(v));
+        }
+        out.writeInt(landmarks.length);
+        for (int landmark : landmarks) {
+            out.writeInt(landmark);
+        }
+        for (double d : fromLandmark) {
+            out.writeDouble(d);
+        }
+        for (double d : toLandmark) {
+            out.writeDouble(d);
+        }
+        out.flush();
+    }
+
+    /**
+     * 从输入流加载索引，并绑定到给定的图快照
+     * @param in    输入流
+     * @param graph 图的快照，其结点顺序必须与保存时一致
+     * @throws IOException 读取失败、数据与快照的结点不一致，或地标数量与下标无效
+     */
+    public static LandmarkIndex load(DataInputStream in, FrozenGraph graph) throws IOException {
+        if (in.readInt() != FORMAT_MAGIC) {
+            throw new IOException("不是有效的 ALT 索引数据");
+        }
+        int n = in.readInt();
+        if (n != graph.getNodeCount()) {
+            throw new IOException("索引结点数 " + n + " 与图快照结点数 " + graph.getNodeCount() + " 不一致");
+        }
+        for (int v = 0; v < n; v++) {
+            String id = in.readUTF();
+            if (!id.equals(graph.getId(v))) {
+                throw new IOException("索引中第 " + v + " 个结点为 " + id + "，与图快照不一致");
+            }
+        }
+        int k = in.readInt();
+        if (k < 0 || k > n || (long) k * n > Integer.MAX_VALUE) {
+            throw new IOException("索引中的地标数量 " + k + " 无效");
+        }
+        int[] landmarks = new int[k];
+        for (int l = 0; l < k; l++) {
+            landmarks[l] = in.readInt();
+            if (landmarks[l] < 0 || landmarks[l] >= n) {
+                throw new IOException("索引中第 " + l + " 个地标的结点下标 " + landmarks[l] + " 超出范围");
+            }
+        }
+        double[] from = new double[k * n];
+        double[] to = new double[k * n];
+        for (int i = 0; i < from.length; i++) {
+            from[i] = in.readDouble();
+        }
+        for (int i = 0; i < to.length; i++) {
+            to[i] = in.readDouble();
+        }
+        return new LandmarkIndex(graph, landmarks, from, to);
+    }
+}
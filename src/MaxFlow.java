@@ -0,0 +1,397 @@
+/**
+ * MaxFlow.java
+ *
+ * 以边权重为链路容量的最大流 / 最小割，用于带宽规划：两台设备之间的最大吞吐量以及限制吞吐量的瓶颈链路。
+ * 算法说明：
+ * 1. 由 FrozenGraph 构建基本类型数组表示的残量图：每条边产生一对互为反向的弧，
+ *    有向边的反向弧容量为 0，无向边的两条弧容量均为边权重（两个方向共享同一条链路）。
+ * 2. FIFO 顺序的 push-relabel：活跃结点按先进先出排队，依次推送（discharge）直到其余量为 0。
+ * 3. 全局重标号：每进行 V 次重标号后，从汇点沿残量弧反向 BFS 重新计算精确的距离标号；
+ *    不能到达汇点的结点以到源点的距离加 V 作为标号，使其余量尽快退回源点。
+ * 4. 间隙（gap）启发：某个低于 V 的高度上不再有结点时，高于它的结点都无法到达汇点，直接抬升到 V + 1。
+ * 5. 结束时残量图中从源点可达的结点构成最小割的源点一侧，跨越两侧的边即为瓶颈链路，其容量之和等于最大流。
+ *
+ * 要求容量非负。整个计算只使用基本类型数组，不为每条弧分配对象。
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class MaxFlow {
+
+    private final FrozenGraph graph;
+    private final int source;
+    private final int sink;
+    private final double flowValue;
+    private final double[] flows;        // 按边下标，从边的起点流向终点为正
+    private final boolean[] sourceSide;  // 按结点下标
+    private final List<Edge> minCut;
+
+    private MaxFlow(FrozenGraph graph, int source, int sink, double flowValue,
+                    double[] flows, boolean[] sourceSide) {
+        this.graph = graph;
+        this.source = source;
+        this.sink = sink;
+        this.flowValue = flowValue;
+        this.flows = flows;
+        this.sourceSide = sourceSide;
+        this.minCut = new ArrayList<>();
+        for (int e = 0; e < flows.length; e++) {
+            Edge edge = graph.getEdge(e);
+            boolean startSide = sourceSide[graph.getIndex(edge.getStartNode().getId())];
+            boolean endSide = sourceSide[graph.getIndex(edge.getEndNode().getId())];
+            if (startSide ? !endSide : (endSide && !edge.isDirected())) {
+                minCut.add(edge);
+            }
+        }
+    }
+
+    /**
+     * 计算 source 到 sink 的最大流与最小割
+     * @param graph  图的快照，边权重为容量
+     * @param source 源点下标
+     * @param sink   汇点下标
+     * @throws IllegalArgumentException 源点与汇点相同或存在负容量
+     */
+    public static MaxFlow compute(FrozenGraph graph, int source, int sink) {
+        if (source == sink) {
+            throw new IllegalArgumentException("源点与汇点不能相同");
+        }
+        Residual residual = new Residual(graph);
+        residual.run(source, sink);
+        return new MaxFlow(graph, source, sink, residual.excess[sink],
+                residual.edgeFlows(), residual.reachableFrom(source));
+    }
+
+    /**
+     * 基本类型数组表示的残量图及 push-relabel 状态
+     */
+    private static final class Residual {
+        private final int n;
+        private final int[] offsets;   // 弧按起点排列的 CSR 偏移
+        private final int[] head;      // 弧的终点
+        private final int[] reverse;   // 反向弧
+        private final double[] cap;    // 残量容量
+        private final int[] arcOfEdge; // 边下标 -> 从边的起点出发的那条弧
+        private final double[] capacityOfEdge;
+        private final boolean[] directedEdge;
+
+        private final int[] height;
+        private final double[] excess;
+        private final int[] current;   // 当前弧
+        private final int[] count;     // 每个高度上的结点数
+        private final int[] queue;
+        private final boolean[] active;
+        private int queueHead;
+        private int queueSize;
+
+        Residual(FrozenGraph graph) {
+            n = graph.getNodeCount();
+            int m = graph.getEdgeCount();
+            int[] start = new int[m];
+            int[] end = new int[m];
+            capacityOfEdge = new double[m];
+            directedEdge = new boolean[m];
+            for (int e = 0; e < m; e++) {
+                Edge edge = graph.getEdge(e);
+                start[e] = graph.getIndex(edge.getStartNode().getId());
+                end[e] = graph.getIndex(edge.getEndNode().getId());
+                directedEdge[e] = edge.isDirected();
+            }
+            // 容量取快照时刻的权重
+            double[] weights = graph.getWeights();
+            int[] edgeIds = graph.getEdgeIds();
+            for (int slot = 0; slot < weights.length; slot++) {
+                if (weights[slot] < 0) {
+                    throw new IllegalArgumentException("最大流要求容量非负：" + graph.getEdge(edgeIds[slot]));
+                }
+                capacityOfEdge[edgeIds[slot]] = weights[slot];
+            }
+
+            // 每条边（自环除外）在两个端点上各占一条弧
+            offsets = new int[n + 1];
+            for (int e = 0; e < m; e++) {
+                if (start[e] != end[e]) {
+                    offsets[start[e] + 1]++;
+                    offsets[end[e] + 1]++;
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+            int arcs = offsets[n];
+            head = new int[arcs];
+            reverse = new int[arcs];
+            cap = new double[arcs];
+            arcOfEdge = new int[m];
+            Arrays.fill(arcOfEdge, -1);
+            int[] fill = Arrays.copyOf(offsets, n);
+            for (int e = 0; e < m; e++) {
+                int u = start[e];
+                int v = end[e];
+                if (u == v) {
+                    continue;
+                }
+                int a = fill[u]++;
+                int b = fill[v]++;
+                head[a] = v;
+                head[b] = u;
+                reverse[a] = b;
+                reverse[b] = a;
+                cap[a] = capacityOfEdge[e];
+                cap[b] = directedEdge[e] ? 0.0 : capacityOfEdge[e];
+                arcOfEdge[e] = a;
+            }
+
+            height = new int[n];
+            excess = new double[n];
+            current = new int[n];
+            count = new int[2 * n + 1];
+            queue = new int[n];
+            active = new boolean[n];
+        }
+
+        void run(int source, int sink) {
+            for (int a = offsets[source]; a < offsets[source + 1]; a++) {
+                double delta = cap[a];
+                if (delta > 0) {
+                    cap[a] = 0.0;
+                    cap[reverse[a]] += delta;
+                    excess[head[a]] += delta;
+                    excess[source] -= delta;
+                }
+            }
+            globalRelabel(source, sink);
+            for (int v = 0; v < n; v++) {
+                if (v != source && v != sink && excess[v] > 0) {
+                    enqueue(v);
+                }
+            }
+            int relabels = 0;
+            while (queueSize > 0) {
+                int v = dequeue();
+                relabels += discharge(v, source, sink);
+                if (relabels >= n) {
+                    globalRelabel(source, sink);
+                    relabels = 0;
+                }
+            }
+        }
+
+        /**
+         * 推送 v 的全部余量
+         * @return 期间的重标号次数
+         */
+        private int discharge(int v, int source, int sink) {
+            int relabels = 0;
+            while (excess[v] > 0) {
+                if (current[v] == offsets[v + 1]) {
+                    relabel(v);
+                    relabels++;
+                    continue;
+                }
+                int a = current[v];
+                int w = head[a];
+                if (cap[a] > 0 && height[v] == height[w] + 1) {
+                    double delta = Math.min(excess[v], cap[a]);
+                    cap[a] -= delta;
+                    cap[reverse[a]] += delta;
+                    excess[v] -= delta;
+                    excess[w] += delta;
+                    if (w != source && w != sink && !active[w]) {
+                        enqueue(w);
+                    }
+                } else {
+                    current[v] = a + 1;
+                }
+            }
+            return relabels;
+        }
+
+        /**
+         * 将 v 抬升到最低可推送邻居的高度加 1；若原高度因此空出且低于 V，执行间隙启发
+         */
+        private void relabel(int v) {
+            int old = height[v];
+            int lowest = 2 * n;
+            for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                if (cap[a] > 0 && height[head[a]] < lowest) {
+                    lowest = height[head[a]];
+                }
+            }
+            setHeight(v, Math.min(2 * n, lowest + 1));
+            current[v] = offsets[v];
+            if (old < n && count[old] == 0) {
+                for (int u = 0; u < n; u++) {
+                    if (height[u] > old && height[u] < n) {
+                        setHeight(u, n + 1);
+                        current[u] = offsets[u];
+                    }
+                }
+            }
+        }
+
+        /**
+         * 全局重标号：从汇点反向 BFS 得到精确距离；到不了汇点的结点改为以到源点的距离加 V 为标号
+         */
+        private void globalRelabel(int source, int sink) {
+            Arrays.fill(height, 2 * n);
+            Arrays.fill(count, 0);
+            count[2 * n] = n;
+            int[] bfs = new int[n];
+            setHeight(sink, 0);
+            int tail = reverseBfs(sink, bfs, 0, 0);
+            setHeight(source, n);
+            reverseBfs(source, bfs, tail, tail);
+            for (int v = 0; v < n; v++) {
+                current[v] = offsets[v];
+            }
+        }
+
+        /**
+         * 从 root 出发，沿残量弧反向扩展尚未标号的结点（标号为 2V 表示尚未标号）
+         * @return bfs 中已使用的长度
+         */
+        private int reverseBfs(int root, int[] bfs, int headIndex, int tail) {
+            bfs[tail++] = root;
+            while (headIndex < tail) {
+                int w = bfs[headIndex++];
+                for (int a = offsets[w]; a < offsets[w + 1]; a++) {
+                    int u = head[a];
+                    // 弧 u -> w 即 a 的反向弧
+                    if (height[u] == 2 * n && cap[reverse[a]] > 0) {
+                        setHeight(u, height[w] + 1);
+                        bfs[tail++] = u;
+                    }
+                }
+            }
+            return tail;
+        }
+
+        private void setHeight(int v, int h) {
+            count[height[v]]--;
+            height[v] = h;
+            count[h]++;
+        }
+
+        private void enqueue(int v) {
+            active[v] = true;
+            queue[(queueHead + queueSize++) % n] = v;
+        }
+
+        private int dequeue() {
+            int v = queue[queueHead];
+            queueHead = (queueHead + 1) % n;
+            queueSize--;
+            active[v] = false;
+            return v;
+        }
+
+        /**
+         * 各边上的净流量，以边的起点流向终点为正
+         */
+        double[] edgeFlows() {
+            double[] flows = new double[arcOfEdge.length];
+            for (int e = 0; e < flows.length; e++) {
+                int a = arcOfEdge[e];
+                if (a >= 0) {
+                    flows[e] = capacityOfEdge[e] - cap[a];
+                }
+            }
+            return flows;
+        }
+
+        /**
+         * 残量图中从 root 可达的结点
+         */
+        boolean[] reachableFrom(int root) {
+            boolean[] reached = new boolean[n];
+            int[] bfs = new int[n];
+            int headIndex = 0;
+            int tail = 0;
+            reached[root] = true;
+            bfs[tail++] = root;
+            while (headIndex < tail) {
+                int u = bfs[headIndex++];
+                for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                    if (cap[a] > 0 && !reached[head[a]]) {
+                        reached[head[a]] = true;
+                        bfs[tail++] = head[a];
+                    }
+                }
+            }
+            return reached;
+        }
+    }
+
+    /**
+     * 获取计算所使用的图快照
+     */
+    public FrozenGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * 源点 ID
+     */
+    public String getSourceId() {
+        return graph.getId(source);
+    }
+
+    /**
+     * 汇点 ID
+     */
+    public String getSinkId() {
+        return graph.getId(sink);
+    }
+
+    /**
+     * 最大流的值，等于最小割的容量
+     */
+    public double getFlowValue() {
+        return flowValue;
+    }
+
+    /**
+     * 下标为 edgeIndex 的边上的净流量；无向边以起点流向终点为正，为负表示反向流动
+     */
+    public double getFlow(int edgeIndex) {
+        return flows[edgeIndex];
+    }
+
+    /**
+     * 按边下标排列的净流量数组，调用方不得修改
+     */
+    public double[] getFlows() {
+        return flows;
+    }
+
+    /**
+     * 最小割中的边（瓶颈链路），即从源点一侧通往汇点一侧的边
+     */
+    public List<Edge> getMinCutEdges() {
+        return minCut;
+    }
+
+    /**
+     * 结点是否位于最小割的源点一侧；结点不存在时返回 false
+     */
+    public boolean isOnSourceSide(String nodeId) {
+        int v = graph.getIndex(nodeId);
+        return v >= 0 && sourceSide[v];
+    }
+
+    /**
+     * 最小割源点一侧全部结点的 ID
+     */
+    public List<String> getSourceSide() {
+        List<String> ids = new ArrayList<>();
+        for (int v = 0; v < sourceSide.length; v++) {
+            if (sourceSide[v]) {
+                ids.add(graph.getId(v));
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,183 @@
+/**
+ * MinimumSpanningForest.java
+ *
+ * 基于 FrozenGraph（CSR 快照）的最小生成树 / 森林，用于从候选链路中选出总成本最低的骨干布线。
+ * 边的方向被忽略；图不连通时得到每个连通分量各自的最小生成树。
+ * 算法说明：
+ * 1. Borůvka：每一轮为每个分量找出离开它的最轻边，全部加入结果并合并分量，分量数每轮至少减半，共 O(log V) 轮。
+ *    最轻边的查找按边并行：每条边以 CAS 尝试成为两端所在分量的候选（AtomicIntegerArray），
+ *    权重相同时以边下标较小者为准，保证各分量选出的边不会构成环。
+ *    每轮结束后重新标记分量，并剔除两端已在同一分量内的边，后续轮次只扫描剩余的边。
+ * 2. Kruskal：按权重排序后以并查集依次加入不成环的边，适用于小图或单线程环境。
+ *
+ * 两种算法在权重相同时都按边下标决胜，因此选出的边集合完全相同。
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public final class MinimumSpanningForest {
+
+    /** 每个并行块扫描的边数 */
+    private static final int GRAIN = 4096;
+
+    private MinimumSpanningForest() {
+    }
+
+    /**
+     * 以并行 Borůvka 算法计算最小生成森林
+     * @param graph 图的快照
+     * @param pool  查找最轻边的线程池
+     * @return 选中的边，按加入顺序排列
+     */
+    public static List<Edge> boruvka(FrozenGraph graph, ForkJoinPool pool) {
+        EdgeArrays edges = new EdgeArrays(graph);
+        int n = graph.getNodeCount();
+        DisjointSet sets = newSets(n);
+        int[] component = new int[n];
+        for (int v = 0; v < n; v++) {
+            component[v] = v;
+        }
+        int[] live = new int[edges.count];
+        int liveCount = 0;
+        for (int e = 0; e < edges.count; e++) {
+            if (edges.start[e] != edges.end[e]) {
+                live[liveCount++] = e;
+            }
+        }
+        AtomicIntegerArray best = new AtomicIntegerArray(n);
+        List<Edge> result = new ArrayList<>();
+
+        while (liveCount > 0) {
+            for (int c = 0; c < n; c++) {
+                best.set(c, -1);
+            }
+            int[] scan = live;
+            int scanCount = liveCount;
+            int chunks = (scanCount + GRAIN - 1) / GRAIN;
+            ParallelRange.forEach(pool, 0, chunks, 1, chunk -> {
+                int end = Math.min(scanCount, (chunk + 1) * GRAIN);
+                for (int k = chunk * GRAIN; k < end; k++) {
+                    int e = scan[k];
+                    offer(best, component[edges.start[e]], e, edges.weight);
+                    offer(best, component[edges.end[e]], e, edges.weight);
+                }
+            });
+
+            // 两端分量可能选中同一条边，以并查集过滤重复
+            boolean merged = false;
+            for (int c = 0; c < n; c++) {
+                int e = best.get(c);
+                if (e >= 0 && sets.union(edges.start[e], edges.end[e])) {
+                    result.add(graph.getEdge(e));
+                    merged = true;
+                }
+            }
+            if (!merged) {
+                break;
+            }
+            for (int v = 0; v < n; v++) {
+                component[v] = sets.find(v);
+            }
+            int kept = 0;
+            for (int k = 0; k < liveCount; k++) {
+                int e = live[k];
+                if (component[edges.start[e]] != component[edges.end[e]]) {
+                    live[kept++] = e;
+                }
+            }
+            liveCount = kept;
+        }
+        return result;
+    }
+
+    /**
+     * 以 CAS 将 e 设为分量 c 的候选边（若 e 比当前候选更轻）
+     */
+    private static void offer(AtomicIntegerArray best, int c, int e, double[] weight) {
+        int current = best.get(c);
+        while (current < 0 || lighter(e, current, weight)) {
+            if (best.compareAndSet(c, current, e)) {
+                return;
+            }
+            current = best.get(c);
+        }
+    }
+
+    private static boolean lighter(int e, int f, double[] weight) {
+        return compare(e, f, weight) < 0;
+    }
+
+    /**
+     * 按权重、再按边下标比较两条边
+     */
+    private static int compare(int e, int f, double[] weight) {
+        int c = Double.compare(weight[e], weight[f]);
+        return c != 0 ? c : Integer.compare(e, f);
+    }
+
+    /**
+     * 以 Kruskal 算法计算最小生成森林
+     * @param graph 图的快照
+     * @return 选中的边，按权重从小到大排列
+     */
+    public static List<Edge> kruskal(FrozenGraph graph) {
+        EdgeArrays edges = new EdgeArrays(graph);
+        Integer[] order = new Integer[edges.count];
+        for (int e = 0; e < edges.count; e++) {
+            order[e] = e;
+        }
+        Arrays.sort(order, (a, b) -> compare(a, b, edges.weight));
+        DisjointSet sets = newSets(graph.getNodeCount());
+        List<Edge> result = new ArrayList<>();
+        for (int e : order) {
+            if (sets.union(edges.start[e], edges.end[e])) {
+                result.add(graph.getEdge(e));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 元素与结点下标一一对应的并查集
+     */
+    private static DisjointSet newSets(int n) {
+        DisjointSet sets = new DisjointSet(n);
+        for (int v = 0; v < n; v++) {
+            sets.add();
+        }
+        return sets;
+    }
+
+    /**
+     * 按边下标排列的端点与权重（取自快照中的槽位，无向边的两个槽位给出相同的结果）
+     */
+    private static final class EdgeArrays {
+        final int count;
+        final int[] start;
+        final int[] end;
+        final double[] weight;
+
+        EdgeArrays(FrozenGraph graph) {
+            count = graph.getEdgeCount();
+            start = new int[count];
+            end = new int[count];
+            weight = new double[count];
+            int[] offsets = graph.getOffsets();
+            int[] targets = graph.getTargets();
+            double[] weights = graph.getWeights();
+            int[] edgeIds = graph.getEdgeIds();
+            for (int u = 0; u < graph.getNodeCount(); u++) {
+                for (int slot = offsets[u]; slot < offsets[u + 1]; slot++) {
+                    int e = edgeIds[slot];
+                    start[e] = u;
+                    end[e] = targets[slot];
+                    weight[e] = weights[slot];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * MultiSourceBfs.java
+ *
+ * 位并行的多源 BFS：一次图遍历同时计算至多 64 个源点的跳数。
+ * 算法说明：
+ * 1. 每个结点用一个 long 表示“哪些源点已到达该结点”（seen）与“哪些源点在本层刚到达该结点”（frontier），
+ *    第 i 位对应本批的第 i 个源点。
+ * 2. 前沿以结点列表保存：每一层只扫描列表中的结点，将其 frontier 按位或到所有出边邻居上，并记录本层被触及的结点；
+ *    随后只对被触及的结点取 新到达 = 收到的位 & ~seen，为其中每一位记录当前层数，非零者组成下一层的前沿。
+ *    每层的代价与前沿结点的出边数成正比，长链状拓扑上也不会因层数多而退化为 O(V·直径)。
+ * 3. 源点按 64 个一组分批，各批互不依赖，在 ForkJoinPool 上并行执行。
+ *
+ * 对 k 个源点的总代价约为 ceil(k/64) 次 BFS，而不是 k 次。跳数以 short 保存，见 HopMatrix。
+ */
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+public final class MultiSourceBfs {
+
+    private static final int BATCH = Long.SIZE;
+
+    private MultiSourceBfs() {
+    }
+
+    /**
+     * 计算每个源点到全部结点的跳数
+     * @param graph   图的快照
+     * @param sources 源点下标，允许重复
+     * @param pool    并行执行各批次的线程池
+     * @return 跳数矩阵，第 r 行对应 sources[r]
+     */
+    public static HopMatrix run(FrozenGraph graph, int[] sources, ForkJoinPool pool) {
+        int n = graph.getNodeCount();
+        int k = sources.length;
+        if ((long) k * n > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("跳数矩阵过大：" + k + " 个源点 × " + n + " 个结点");
+        }
+        short[] hops = new short[k * n];
+        Arrays.fill(hops, HopMatrix.UNREACHABLE);
+        int batches = (k + BATCH - 1) / BATCH;
+        ParallelRange.forEach(pool, 0, batches, 1, batch -> {
+            int from = batch * BATCH;
+            runBatch(graph, sources, from, Math.min(k, from + BATCH), hops);
+        });
+        return new HopMatrix(graph, sources.clone(), hops);
+    }
+
+    /**
+     * 处理 sources[from, to) 这一批（至多 64 个）源点
+     */
+    private static void runBatch(FrozenGraph graph, int[] sources, int from, int to, short[] hops) {
+        int n = graph.getNodeCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        long[] seen = new long[n];
+        long[] frontier = new long[n];
+        long[] reached = new long[n];  // 本层从前沿传播到达的位
+        int[] current = new int[n];    // 本层前沿结点
+        int[] touched = new int[n];    // 本层 reached 由 0 变为非 0 的结点
+        int currentSize = 0;
+
+        for (int row = from; row < to; row++) {
+            long bit = 1L << (row - from);
+            int s = sources[row];
+            if (frontier[s] == 0) {
+                current[currentSize++] = s;
+            }
+            seen[s] |= bit;
+            frontier[s] |= bit;
+            hops[row * n + s] = 0;
+        }
+
+        int level = 0;
+        while (currentSize > 0) {
+            level++;
+            short stored = (short) Math.min(level, HopMatrix.SATURATED);
+            int touchedSize = 0;
+            for (int k = 0; k < currentSize; k++) {
+                int u = current[k];
+                long bits = frontier[u];
+                frontier[u] = 0;
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int v = targets[i];
+                    if (reached[v] == 0) {
+                        touched[touchedSize++] = v;
+                    }
+                    reached[v] |= bits;
+                }
+            }
+            currentSize = 0;
+            for (int k = 0; k < touchedSize; k++) {
+                int v = touched[k];
+                long fresh = reached[v] & ~seen[v];
+                reached[v] = 0;
+                if (fresh != 0) {
+                    frontier[v] = fresh;
+                    current[currentSize++] = v;
+                    seen[v] |= fresh;
+                    while (fresh != 0) {
+                        int row = from + Long.numberOfTrailingZeros(fresh);
+                        fresh &= fresh - 1;
+                        hops[row * n + v] = stored;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/**
+ * ParallelBfs.java
+ *
+ * 方向优化（direction-optimizing）的层同步并行 BFS，用于大规模图上的跳数可达性分析。
+ * 算法说明：
+ * 1. 按层推进，当前层与下一层的前沿均以位图（long[]）表示，已访问集合同样为位图。
+ * 2. 自顶向下（top-down）：扫描前沿中每个结点的出边，用 CAS 抢占未访问的邻居。
+ * 3. 自底向上（bottom-up）：扫描每个未访问结点的入边（反向快照），只要找到一个位于前沿中的前驱即可停止。
+ *    前沿很大时，这种方式检查的边远少于自顶向下。
+ * 4. 按 Beamer 启发切换方向：前沿出边数 m_f > 未访问结点的边数 m_u / ALPHA 时切换到自底向上；
+ *    前沿结点数 n_f < n / BETA 时切换回自顶向下。
+ * 5. 每一层的工作按 64 个结点一组（一个位图字）划分，在 ForkJoinPool 上并行执行。
+ *
+ * 结果的层数（跳数）是确定的；同一层内有多个前驱时，记录哪一个取决于线程调度。
+ */
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ParallelBfs {
+
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+    /** 每个并行任务至少处理的位图字数 */
+    private static final int WORD_GRAIN = 16;
+
+    private final FrozenGraph graph;
+    private final FrozenGraph reversed;
+    private final ForkJoinPool pool;
+    private final int[] level;   // 跳数，-1 表示不可达
+    private final int[] parent;  // BFS 树中的前驱，-1 表示无前驱
+    private int depth;
+    private int bottomUpLevels;
+
+    /**
+     * 构造方法
+     * @param graph 图的快照
+     * @param pool  执行每一层工作的线程池
+     */
+    public ParallelBfs(FrozenGraph graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.reversed = graph.reverse();
+        this.pool = pool;
+        this.level = new int[graph.getNodeCount()];
+        this.parent = new int[graph.getNodeCount()];
+    }
+
+    /**
+     * 从 source 出发执行 BFS
+     * @param source 起点下标
+     */
+    public void run(int source) {
+        int n = graph.getNodeCount();
+        int words = (n + 63) >>> 6;
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] inOffsets = reversed.getOffsets();
+        int[] inTargets = reversed.getTargets();
+
+        Arrays.fill(level, -1);
+        Arrays.fill(parent, -1);
+        AtomicLongArray visited = new AtomicLongArray(words);
+        AtomicLongArray frontier = new AtomicLongArray(words);
+        AtomicLongArray nextFrontier = new AtomicLongArray(words);
+
+        level[source] = 0;
+        visited.set(source >>> 6, 1L << source);
+        frontier.set(source >>> 6, 1L << source);
+        long frontierNodes = 1;
+        long frontierEdges = graph.getDegree(source);
+        long unexploredEdges = offsets[n] - frontierEdges;
+        boolean bottomUp = false;
+        depth = 0;
+        bottomUpLevels = 0;
+
+        LongAdder nextNodes = new LongAdder();
+        LongAdder nextEdges = new LongAdder();
+        while (frontierNodes > 0) {
+            // 方向选择
+            if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) {
+                bottomUp = true;
+            } else if (bottomUp && frontierNodes < n / BETA) {
+                bottomUp = false;
+            }
+
+            final int nextLevel = depth + 1;
+            final AtomicLongArray current = frontier;
+            final AtomicLongArray next = nextFrontier;
+            nextNodes.reset();
+            nextEdges.reset();
+            int tasks = (words + WORD_GRAIN - 1) / WORD_GRAIN;
+            if (bottomUp) {
+                bottomUpLevels++;
+                ParallelRange.forEach(pool, 0, tasks, 1, task -> {
+                    int found = 0;
+                    long edges = 0;
+                    int wEnd = Math.min(words, (task + 1) * WORD_GRAIN);
+                    for (int w = task * WORD_GRAIN; w < wEnd; w++) {
+                        long unvisited = ~visited.get(w);
+                        long discovered = 0;
+                        while (unvisited != 0) {
+                            int bit = Long.numberOfTrailingZeros(unvisited);
+                            unvisited &= unvisited - 1;
+                            int v = (w << 6) + bit;
+                            if (v >= n) {
+                                break;
+                            }
+                            // 只要找到一个位于当前前沿中的前驱即可停止
+                            for (int i = inOffsets[v]; i < inOffsets[v + 1]; i++) {
+                                int u = inTargets[i];
+                                if ((current.get(u >>> 6) & (1L << u)) != 0) {
+                                    level[v] = nextLevel;
+                                    parent[v] = u;
+                                    discovered |= 1L << bit;
+                                    found++;
+                                    edges += offsets[v + 1] - offsets[v];
+                                    break;
+                                }
+                            }
+                        }
+                        // 每个字只由一个任务处理，无需 CAS
+                        next.set(w, discovered);
+                        if (discovered != 0) {
+                            visited.set(w, visited.get(w) | discovered);
+                        }
+                    }
+                    nextNodes.add(found);
+                    nextEdges.add(edges);
+                });
+            } else {
+                ParallelRange.forEach(pool, 0, tasks, 1, task -> {
+                    int found = 0;
+                    long edges = 0;
+                    int wEnd = Math.min(words, (task + 1) * WORD_GRAIN);
+                    for (int w = task * WORD_GRAIN; w < wEnd; w++) {
+                        long bits = current.get(w);
+                        while (bits != 0) {
+                            int u = (w << 6) + Long.numberOfTrailingZeros(bits);
+                            bits &= bits - 1;
+                            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                                int v = targets[i];
+                                if (claim(visited, v)) {
+                                    level[v] = nextLevel;
+                                    parent[v] = u;
+                                    next.getAndAccumulate(v >>> 6, 1L << v, (a, b) -> a | b);
+                                    found++;
+                                    edges += offsets[v + 1] - offsets[v];
+                                }
+                            }
+                        }
+                    }
+                    nextNodes.add(found);
+                    nextEdges.add(edges);
+                });
+            }
+
+            // 交换前沿并清空下一层位图
+            frontierNodes = nextNodes.sum();
+            frontierEdges = nextEdges.sum();
+            unexploredEdges -= frontierEdges;
+            frontier = next;
+            nextFrontier = current;
+            ParallelRange.forEach(pool, 0, words, 4096, w -> current.set(w, 0L));
+            if (frontierNodes > 0) {
+                depth = nextLevel;
+            }
+        }
+    }
+
+    /**
+     * 以 CAS 将结点 v 标记为已访问
+     * @return 若本次调用完成了标记则返回 true
+     */
+    private static boolean claim(AtomicLongArray visited, int v) {
+        int w = v >>> 6;
+        long mask = 1L << v;
+        while (true) {
+            long old = visited.get(w);
+            if ((old & mask) != 0) {
+                return false;
+            }
+            if (visited.compareAndSet(w, old, old | mask)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 获取最近一次搜索中结点 v 的跳数，-1 表示不可达
+     */
+    public int getLevel(int v) {
+        return level[v];
+    }
+
+    /**
+     * 获取最近一次搜索中结点 v 在 BFS 树中的前驱
+     */
+    public int getParent(int v) {
+        return parent[v];
+    }
+
+    /**
+     * 获取各结点跳数数组的副本
+     */
+    public int[] getLevels() {
+        return level.clone();
+    }
+
+    /**
+     * 最近一次搜索的最大层数（起点的离心率）
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * 最近一次搜索中以自底向上方式处理的层数
+     */
+    public int getBottomUpLevels() {
+        return bottomUpLevels;
+    }
+
+    /**
+     * 获取搜索所使用的图快照
+     */
+    public FrozenGraph getGraph() {
+        return graph;
+    }
+}
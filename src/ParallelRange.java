@@ -0,0 +1,73 @@
+/**
+ * ParallelRange.java
+ *
+ * 在 ForkJoinPool 上并行执行整数区间 [from, to) 的循环体。
+ * 区间按二分方式递归拆分，直到子区间长度不超过 grain 后顺序执行。
+ * 供各并行图算法（分块 Floyd-Warshall、多源最短路等）共用。
+ */
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+public final class ParallelRange {
+
+    private ParallelRange() {
+    }
+
+    /**
+     * 并行执行 body.accept(i)，i 取遍 [from, to)，所有任务完成后才返回
+     * @param pool  执行任务的线程池
+     * @param from  起始下标（含）
+     * @param to    结束下标（不含）
+     * @param grain 顺序执行的最大子区间长度
+     * @param body  循环体，不同下标之间必须互不依赖
+     */
+    public static void forEach(ForkJoinPool pool, int from, int to, int grain, IntConsumer body) {
+        if (to <= from) {
+            return;
+        }
+        if (to - from <= grain || pool.getParallelism() <= 1) {
+            for (int i = from; i < to; i++) {
+                body.accept(i);
+            }
+            return;
+        }
+        pool.invoke(new RangeTask(from, to, Math.max(1, grain), body));
+    }
+
+    /**
+     * 使用公共线程池的便捷重载
+     */
+    public static void forEach(int from, int to, int grain, IntConsumer body) {
+        forEach(ForkJoinPool.commonPool(), from, to, grain, body);
+    }
+
+    private static class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final IntConsumer body;
+
+        RangeTask(int from, int to, int grain, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                for (int i = from; i < to; i++) {
+                    body.accept(i);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, mid, grain, body), new RangeTask(mid, to, grain, body));
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/**
+ * PathQueryCache.java
+ *
+ * 路径查询结果的有界 LRU 缓存，绑定到一张图。
+ * 主要内容：
+ * 1. 以（算法, 起点, 终点, 图版本号）为键缓存 ShortestPathResult 与 FloydResult，不可达（null）的结果同样会被缓存。
+ * 2. 基于按访问顺序排列的 LinkedHashMap，超过容量时淘汰最久未使用的条目。
+ * 3. 图的版本号（Graph.getVersion）变化后，旧版本的条目不会再命中，并在下一次访问时被整体清除。
+ * 4. 记录命中与未命中次数，便于评估缓存容量是否合适。
+ *
+ * 对内部状态的访问均已同步，可在多个线程间共享。未命中时的计算在锁外执行，不会阻塞其他查询；
+ * 计算完成后只有在图的版本号未变时才写入缓存。多个线程同时未命中同一个键时可能各自计算一次。
+ */
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+public class PathQueryCache {
+
+    /** 占位对象，用于缓存 null 结果 */
+    private static final Object NO_RESULT = new Object();
+
+    private final Graph graph;
+    private final int capacity;
+    private final LinkedHashMap<Key, Object> entries;
+    private long cachedVersion;
+    private long hits;
+    private long misses;
+
+    /**
+     * 构造方法
+     * @param graph    被缓存查询结果的图
+     * @param capacity 最多保存的条目数
+     */
+    public PathQueryCache(Graph graph, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("缓存容量必须为正数：" + capacity);
+        }
+        this.graph = graph;
+        this.capacity = capacity;
+        this.cachedVersion = graph.getVersion();
+        this.entries = new LinkedHashMap<Key, Object>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                return size() > PathQueryCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * 查询点对点最短路径：命中则直接返回缓存结果，否则调用 compute 计算并缓存
+     * @param algorithm 算法名，不同算法的结果分别缓存
+     * @param sourceId  起点 ID
+     * @param targetId  终点 ID
+     * @param compute   未命中时执行的计算，可返回 null 表示不可达
+     */
+    public GraphAlgorithms.ShortestPathResult getShortestPath(String algorithm, String sourceId, String targetId,
+                                                              Supplier<GraphAlgorithms.ShortestPathResult> compute) {
+        Key key = new Key(false, algorithm, sourceId, targetId, graph.getVersion());
+        return (GraphAlgorithms.ShortestPathResult) lookup(key, compute);
+    }
+
+    /**
+     * 查询全源最短路径的 Floyd-Warshall 预处理结果：命中则直接返回，否则调用 compute 计算并缓存
+     */
+    public GraphAlgorithms.FloydResult getFloydResult(Supplier<GraphAlgorithms.FloydResult> compute) {
+        Key key = new Key(true, null, null, null, graph.getVersion());
+        return (GraphAlgorithms.FloydResult) lookup(key, compute);
+    }
+
+    private Object lookup(Key key, Supplier<?> compute) {
+        synchronized (this) {
+            advanceVersion(key.version);
+            Object value = entries.get(key);
+            if (value != null) {
+                hits++;
+                return value == NO_RESULT ? null : value;
+            }
+            misses++;
+        }
+        Object computed = compute.get();
+        synchronized (this) {
+            // 计算期间图可能已被修改，此时结果不一定对应 key.version，不予缓存
+            if (graph.getVersion() == key.version) {
+                advanceVersion(key.version);
+                entries.put(key, computed == null ? NO_RESULT : computed);
+            }
+        }
+        return computed;
+    }
+
+    /**
+     * 图已被修改时清除旧版本的条目（它们不会再命中）；版本号只增不减，较旧的键不会触发清除
+     */
+    private void advanceVersion(long version) {
+        if (version > cachedVersion) {
+            entries.clear();
+            cachedVersion = version;
+        }
+    }
+
+    /**
+     * 获取命中次数
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * 获取未命中次数
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * 获取当前缓存的条目数
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 获取缓存容量
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 清空缓存和计数器
+     */
+    public synchronized void clear() {
+        entries.clear();
+        hits = 0;
+        misses = 0;
+    }
+
+    /**
+     * 缓存键：结果类型、算法、起点、终点与图版本号。
+     * 全源结果以 allPairs 区分，不会与任何算法名的点对点查询冲突
+     */
+    private static final class Key {
+        private final boolean allPairs;
+        private final String algorithm;
+        private final String sourceId;
+        private final String targetId;
+        private final long version;
+
+        Key(boolean allPairs, String algorithm, String sourceId, String targetId, long version) {
+            this.allPairs = allPairs;
+            this.algorithm = algorithm;
+            this.sourceId = sourceId;
+            this.targetId = targetId;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return version == other.version
+                    && allPairs == other.allPairs
+                    && Objects.equals(algorithm, other.algorithm)
+                    && Objects.equals(sourceId, other.sourceId)
+                    && Objects.equals(targetId, other.targetId);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = Boolean.hashCode(allPairs);
+            h = 31 * h + Objects.hashCode(algorithm);
+            h = 31 * h + Objects.hashCode(sourceId);
+            h = 31 * h + Objects.hashCode(targetId);
+            return 31 * h + Long.hashCode(version);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * ShortestPathTree.java
+ *
+ * 单源最短路径树：一次完整的 Dijkstra 搜索的结果。
+ * dist 与 parent 均按 FrozenGraph 的结点下标排列，从同一起点到任意终点的路径都可直接回溯得到，无需重新搜索。
+ * 该树对应生成它的图快照；图被修改后，可通过 getGraph() == graph.freeze() 判断是否仍然有效。
+ */
+
+import java.util.Collections;
+import java.util.List;
+
+public class ShortestPathTree {
+
+    private final FrozenGraph graph;
+    private final int source;
+    private final double[] dist;   // 起点到各结点的最短距离，不可达为无穷大
+    private final int[] parent;    // 树中的前驱下标，起点与不可达结点为 -1
+
+    ShortestPathTree(FrozenGraph graph, int source, double[] dist, int[] parent) {
+        this.graph = graph;
+        this.source = source;
+        this.dist = dist;
+        this.parent = parent;
+    }
+
+    /**
+     * 以 Dijkstra 计算 source 的完整最短路径树（要求边权非负）
+     * @param graph  图的快照
+     * @param source 起点下标
+     */
+    public static ShortestPathTree build(FrozenGraph graph, int source) {
+        DijkstraEngine engine = new DijkstraEngine(graph);
+        engine.run(source, -1);
+        int n = graph.getNodeCount();
+        double[] dist = new double[n];
+        int[] parent = new int[n];
+        for (int v = 0; v < n; v++) {
+            dist[v] = engine.getDistance(v);
+            parent[v] = engine.getParent(v);
+        }
+        return new ShortestPathTree(graph, source, dist, parent);
+    }
+
+    /**
+     * 获取生成该树的图快照
+     */
+    public FrozenGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * 获取起点下标
+     */
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     * 获取起点 ID
+     */
+    public String getSourceId() {
+        return graph.getId(source);
+    }
+
+    /**
+     * 获取起点到 v 的最短距离，不可达为无穷大
+     */
+    public double getDistance(int v) {
+        return dist[v];
+    }
+
+    /**
+     * 获取 v 在树中的前驱下标，起点与不可达结点为 -1
+     */
+    public int getParent(int v) {
+        return parent[v];
+    }
+
+    /**
+     * 获取距离数组，调用方不得修改
+     */
+    public double[] getDistances() {
+        return dist;
+    }
+
+    /**
+     * 获取前驱数组，调用方不得修改
+     */
+    public int[] getParents() {
+        return parent;
+    }
+
+    /**
+     * 回溯起点到 targetId 的最短路径
+     * @return 若 targetId 不存在或不可达则返回 null
+     */
+    public GraphAlgorithms.ShortestPathResult pathTo(String targetId) {
+        int target = graph.getIndex(targetId);
+        if (target < 0 || dist[target] == Double.POSITIVE_INFINITY) {
+            return null;
+        }
+        if (target == source) {
+            return new GraphAlgorithms.ShortestPathResult(Collections.singletonList(targetId), 0.0);
+        }
+        List<String> path = GraphAlgorithms.rebuildIndexPath(graph, parent, target);
+        return new GraphAlgorithms.ShortestPathResult(path, dist[target]);
+    }
+}
@@ -0,0 +1,214 @@
+/**
+ * StronglyConnectedComponents.java
+ *
+ * 有向图的强连通分量及其缩点图（condensation DAG）。
+ * 算法说明：
+ * 1. 在 DfsEngine 上运行 Tarjan 算法：先序时记录访问序号并压栈，非树边指向栈中结点时更新 low 值，
+ *    后序时若 low == 访问序号则弹栈得到一个分量，并将 low 值传给父结点。全程不递归，线性时间。
+ * 2. Tarjan 按逆拓扑序产生分量，编号时将其倒转：缩点图中的每条弧都从编号小的分量指向编号大的分量。
+ * 3. 缩点图以 CSR 形式保存，分量之间的重复弧只保留一条。
+ *
+ * 大小超过 1 的分量（或带自环的结点）中存在环路，即可能出现路由环路的区域。
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class StronglyConnectedComponents {
+
+    private final FrozenGraph graph;
+    private final int[] component;      // 结点所属分量编号（按拓扑序）
+    private final int count;
+    private final int[] memberOffsets;  // 分量 c 的结点为 members[memberOffsets[c], memberOffsets[c+1])
+    private final int[] members;
+    private final int[] dagOffsets;     // 缩点图的 CSR 偏移
+    private final int[] dagTargets;
+
+    private StronglyConnectedComponents(FrozenGraph graph, int[] component, int count) {
+        this.graph = graph;
+        this.component = component;
+        this.count = count;
+        int n = graph.getNodeCount();
+
+        // 按分量对结点做计数排序
+        memberOffsets = new int[count + 1];
+        for (int v = 0; v < n; v++) {
+            memberOffsets[component[v] + 1]++;
+        }
+        for (int c = 0; c < count; c++) {
+            memberOffsets[c + 1] += memberOffsets[c];
+        }
+        members = new int[n];
+        int[] fill = Arrays.copyOf(memberOffsets, count);
+        for (int v = 0; v < n; v++) {
+            members[fill[component[v]]++] = v;
+        }
+
+        // 逐个分量收集指向其他分量的弧，以标记数组去重
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] stamp = new int[count];
+        Arrays.fill(stamp, -1);
+        dagOffsets = new int[count + 1];
+        int[] arcs = new int[16];
+        int arcCount = 0;
+        for (int c = 0; c < count; c++) {
+            for (int k = memberOffsets[c]; k < memberOffsets[c + 1]; k++) {
+                int u = members[k];
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int d = component[targets[i]];
+                    if (d != c && stamp[d] != c) {
+                        stamp[d] = c;
+                        if (arcCount == arcs.length) {
+                            arcs = Arrays.copyOf(arcs, arcCount * 2);
+                        }
+                        arcs[arcCount++] = d;
+                    }
+                }
+            }
+            dagOffsets[c + 1] = arcCount;
+        }
+        dagTargets = Arrays.copyOf(arcs, arcCount);
+    }
+
+    /**
+     * 以非递归的 Tarjan 算法计算强连通分量
+     * @param graph 图的快照（无向边视为两条方向相反的弧）
+     */
+    public static StronglyConnectedComponents compute(FrozenGraph graph) {
+        int n = graph.getNodeCount();
+        int[] component = new int[n];
+        TarjanVisitor visitor = new TarjanVisitor(n, component);
+        new DfsEngine(graph).runAll(visitor);
+        // Tarjan 的分量按逆拓扑序产生，倒转编号
+        int count = visitor.count;
+        for (int v = 0; v < n; v++) {
+            component[v] = count - 1 - component[v];
+        }
+        return new StronglyConnectedComponents(graph, component, count);
+    }
+
+    /**
+     * Tarjan 算法的 DFS 回调
+     */
+    private static final class TarjanVisitor implements DfsVisitor {
+        private final int[] order;     // 访问序号
+        private final int[] low;
+        private final int[] stack;
+        private final boolean[] onStack;
+        private final int[] component;
+        private int top;
+        private int counter;
+        private int count;
+
+        TarjanVisitor(int n, int[] component) {
+            this.order = new int[n];
+            this.low = new int[n];
+            this.stack = new int[n];
+            this.onStack = new boolean[n];
+            this.component = component;
+        }
+
+        @Override
+        public void preOrder(int v, int parent) {
+            order[v] = counter;
+            low[v] = counter;
+            counter++;
+            stack[top++] = v;
+            onStack[v] = true;
+        }
+
+        @Override
+        public void nonTreeEdge(int v, int w, int slot) {
+            if (onStack[w] && order[w] < low[v]) {
+                low[v] = order[w];
+            }
+        }
+
+        @Override
+        public void postOrder(int v, int parent) {
+            if (low[v] == order[v]) {
+                int w;
+                do {
+                    w = stack[--top];
+                    onStack[w] = false;
+                    component[w] = count;
+                } while (w != v);
+                count++;
+            }
+            if (parent >= 0 && low[v] < low[parent]) {
+                low[parent] = low[v];
+            }
+        }
+    }
+
+    /**
+     * 获取计算所使用的图快照
+     */
+    public FrozenGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * 强连通分量个数
+     */
+    public int getComponentCount() {
+        return count;
+    }
+
+    /**
+     * 获取结点 v 所属的分量编号；编号按拓扑序排列，缩点图中的弧总是从小编号指向大编号
+     */
+    public int getComponent(int v) {
+        return component[v];
+    }
+
+    /**
+     * 获取各结点的分量编号数组，调用方不得修改
+     */
+    public int[] getComponents() {
+        return component;
+    }
+
+    /**
+     * 两个结点是否强连通
+     */
+    public boolean sameComponent(String a, String b) {
+        int ia = graph.getIndex(a);
+        int ib = graph.getIndex(b);
+        return ia >= 0 && ib >= 0 && component[ia] == component[ib];
+    }
+
+    /**
+     * 分量 c 中的结点个数
+     */
+    public int getComponentSize(int c) {
+        return memberOffsets[c + 1] - memberOffsets[c];
+    }
+
+    /**
+     * 分量 c 中全部结点的 ID
+     */
+    public List<String> getMemberIds(int c) {
+        List<String> ids = new ArrayList<>(getComponentSize(c));
+        for (int k = memberOffsets[c]; k < memberOffsets[c + 1]; k++) {
+            ids.add(graph.getId(members[k]));
+        }
+        return ids;
+    }
+
+    /**
+     * 缩点图的 CSR 偏移：分量 c 的后继为 getDagTargets()[offsets[c], offsets[c+1])，调用方不得修改
+     */
+    public int[] getDagOffsets() {
+        return dagOffsets;
+    }
+
+    /**
+     * 缩点图的 CSR 弧终点（分量编号），调用方不得修改
+     */
+    public int[] getDagTargets() {
+        return dagTargets;
+    }
+}
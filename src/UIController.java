@@ -2,6 +2,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.Arrays;
 import java.util.List;
 
 public class UIController {
@@ -9,11 +10,16 @@ public class UIController {
     private Graph graph;
     private GraphVisualizer visualizer;
     private List<String> lastHighlightPath = null;  // 用于记录上一次的高亮路径
+    private ShortestPathTree cachedTree = null;       // 同一起点重复查询时建立的最短路径树，起点与快照不变时复用
+    private String lastDijkstraSource = null;         // 上一次 Dijkstra 查询的起点及其所用快照，用于识别重复起点
+    private FrozenGraph lastDijkstraSnapshot = null;
+    private final PathQueryCache queryCache;          // 路径查询结果缓存，图被修改后自动失效
     private JFrame frame;
 
     public UIController(Graph graph, GraphVisualizer visualizer) {
         this.graph = graph;
         this.visualizer = visualizer;
+        this.queryCache = new PathQueryCache(graph, 256);
     }
 
     public void showUI() {
@@ -158,7 +164,7 @@ public class UIController {
                 JTextField startField = new JTextField();
                 JTextField endField = new JTextField();
 
-                String[] algoOptions = {"BFS(无权)", "Dijkstra(非负权)", "Floyd-Warshall"};
+                String[] algoOptions = {"BFS(无权)", "Dijkstra(非负权)", "Floyd-Warshall", "A*(坐标启发)"};
                 JComboBox<String> algoCombo = new JComboBox<>(algoOptions);
 
                 Object[] message = {
@@ -177,20 +183,13 @@ public class UIController {
                         return;
                     }
 
-                    GraphAlgorithms.ShortestPathResult result = null;
-                    switch (algo) {
-                        case "BFS(无权)":
-                            result = GraphAlgorithms.findShortestPathBFS(graph, startId, endId);
-                            break;
-                        case "Dijkstra(非负权)":
-                            result = GraphAlgorithms.findShortestPathDijkstra(graph, startId, endId);
-                            break;
-                        case "Floyd-Warshall":
-                            GraphAlgorithms.FloydResult fr = GraphAlgorithms.floydWarshall(graph);
-                            result = GraphAlgorithms.rebuildFloydPath(fr, startId, endId);
-                            break;
-                        default:
-                            break;
+                    // 图未修改时，相同的查询直接使用缓存结果
+                    GraphAlgorithms.ShortestPathResult result;
+                    try {
+                        result = queryCache.getShortestPath(algo, startId, endId, () -> computeShortestPath(algo, startId, endId));
+                    } catch (IllegalArgumentException ex) {
+                        JOptionPane.showMessageDialog(frame, ex.getMessage());
+                        return;
                     }
 
                     if (result == null) {
@@ -209,6 +208,101 @@ public class UIController {
         });
         controlPanel.add(shortestPathButton);
 
+        // 单点故障分析按钮：高亮显示割点（关键设备）与桥（关键链路）
+        JButton criticalButton = new JButton("单点故障分析");
+        criticalButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                CriticalElements critical = GraphAlgorithms.findCriticalElements(graph);
+                List<String> points = critical.getArticulationPoints();
+                List<Edge> bridges = critical.getBridges();
+                if (points.isEmpty() && bridges.isEmpty()) {
+                    visualizer.setHighlight(null, null);
+                    JOptionPane.showMessageDialog(frame, "网络中不存在单点故障：任意删除一台设备或一条连接都不会分割网络。");
+                    return;
+                }
+                StringBuilder sb = new StringBuilder();
+                sb.append("关键设备（割点）共 ").append(points.size()).append(" 个：").append(points).append("\n");
+                sb.append("关键连接（桥）共 ").append(bridges.size()).append(" 条：");
+                for (Edge bridge : bridges) {
+                    sb.append("\n  ").append(bridge.getStartNode().getId())
+                            .append(bridge.isDirected() ? " -> " : " - ")
+                            .append(bridge.getEndNode().getId());
+                }
+                visualizer.setHighlight(points, bridges);
+                JOptionPane.showMessageDialog(frame, sb.toString());
+            }
+        });
+        controlPanel.add(criticalButton);
+
+        // 最小生成树按钮：高亮显示总成本最低的骨干连接
+        JButton mstButton = new JButton("最小成本骨干网");
+        mstButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                List<Edge> tree = GraphAlgorithms.minimumSpanningTree(graph);
+                if (tree.isEmpty()) {
+                    visualizer.setHighlight(null, null);
+                    JOptionPane.showMessageDialog(frame, "网络中没有可用于骨干网的连接！");
+                    return;
+                }
+                double total = 0.0;
+                for (Edge edge : tree) {
+                    total += edge.getWeight();
+                }
+                visualizer.setHighlight(null, tree);
+                JOptionPane.showMessageDialog(frame, "骨干网共 " + tree.size() + " 条连接，总权重=" + total);
+            }
+        });
+        controlPanel.add(mstButton);
+
+        // 最大流按钮：以连接权重为带宽，计算两台设备间的最大吞吐量并高亮瓶颈连接
+        JButton maxFlowButton = new JButton("带宽瓶颈分析");
+        maxFlowButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                JTextField sourceField = new JTextField();
+                JTextField sinkField = new JTextField();
+                Object[] message = {
+                        "源设备ID：", sourceField,
+                        "目的设备ID：", sinkField
+                };
+                int option = JOptionPane.showConfirmDialog(frame, message, "带宽瓶颈分析", JOptionPane.OK_CANCEL_OPTION);
+                if (option == JOptionPane.OK_OPTION) {
+                    String sourceId = sourceField.getText().trim();
+                    String sinkId = sinkField.getText().trim();
+                    if (sourceId.isEmpty() || sinkId.isEmpty() || sourceId.equals(sinkId)) {
+                        JOptionPane.showMessageDialog(frame, "请输入两台不同的设备！");
+                        return;
+                    }
+                    MaxFlow flow;
+                    try {
+                        flow = GraphAlgorithms.maxFlow(graph, sourceId, sinkId);
+                    } catch (IllegalArgumentException ex) {
+                        JOptionPane.showMessageDialog(frame, ex.getMessage());
+                        return;
+                    }
+                    if (flow == null) {
+                        JOptionPane.showMessageDialog(frame, "源设备或目的设备不存在！");
+                        return;
+                    }
+                    List<Edge> cut = flow.getMinCutEdges();
+                    StringBuilder sb = new StringBuilder();
+                    sb.append("最大吞吐量=").append(flow.getFlowValue()).append("\n");
+                    sb.append("瓶颈连接共 ").append(cut.size()).append(" 条：");
+                    for (Edge edge : cut) {
+                        sb.append("\n  ").append(edge.getStartNode().getId())
+                                .append(edge.isDirected() ? " -> " : " - ")
+                                .append(edge.getEndNode().getId())
+                                .append(" (带宽=").append(edge.getWeight()).append(")");
+                    }
+                    visualizer.setHighlight(Arrays.asList(sourceId, sinkId), cut);
+                    JOptionPane.showMessageDialog(frame, sb.toString());
+                }
+            }
+        });
+        controlPanel.add(maxFlowButton);
+
 // 刷新视图按钮
         JButton refreshButton = new JButton("刷新网络拓扑图");
         refreshButton.addActionListener(new ActionListener() {
@@ -234,6 +328,49 @@ public class UIController {
         frame.setVisible(true);
     }
 
+    /**
+     * 按所选算法计算 startId 到 endId 的最短路径
+     */
+    private GraphAlgorithms.ShortestPathResult computeShortestPath(String algo, String startId, String endId) {
+        switch (algo) {
+            case "BFS(无权)":
+                return GraphAlgorithms.findShortestPathBFS(graph, startId, endId);
+            case "Dijkstra(非负权)":
+                return dijkstraPath(startId, endId);
+            case "Floyd-Warshall":
+                GraphAlgorithms.FloydResult fr = queryCache.getFloydResult(() -> GraphAlgorithms.floydWarshall(graph));
+                return GraphAlgorithms.rebuildFloydPath(fr, startId, endId);
+            case "A*(坐标启发)":
+                return GraphAlgorithms.findShortestPathAStar(graph, startId, endId);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Dijkstra 查询：单次查询使用双向 Dijkstra，只确定少量结点；
+     * 图未修改而同一起点被再次查询时，说明正在逐个查看该起点的各个终点，改为建立整棵最短路径树并缓存，之后直接回溯
+     * @throws IllegalArgumentException 图中存在负权边
+     */
+    private GraphAlgorithms.ShortestPathResult dijkstraPath(String startId, String endId) {
+        FrozenGraph snapshot = graph.freeze();
+        if (snapshot.hasNegativeWeight()) {
+            throw new IllegalArgumentException("图中存在负权边，无法使用 Dijkstra 算法");
+        }
+        boolean treeValid = cachedTree != null && cachedTree.getGraph() == snapshot
+                && cachedTree.getSourceId().equals(startId);
+        if (!treeValid && snapshot == lastDijkstraSnapshot && startId.equals(lastDijkstraSource)) {
+            cachedTree = GraphAlgorithms.shortestPathTree(snapshot, startId);
+            treeValid = cachedTree != null;
+        }
+        lastDijkstraSnapshot = snapshot;
+        lastDijkstraSource = startId;
+        if (treeValid) {
+            return cachedTree.pathTo(endId);
+        }
+        return GraphAlgorithms.findShortestPathBidirectional(snapshot, startId, endId);
+    }
+
     /**
      * 记录上次操作的状态，以便在刷新时恢复。
      */